@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+def buildLog = new File( basedir, 'build.log' )
+assert buildLog.exists()
+
+// the profile activators are injected by Maven: no condition is left unevaluated
+assert !buildLog.text.contains( 'can not be evaluated' )
+assert buildLog.text.contains( '  Profile Id: profile-jdk (Active: true, Source: pom)' )
+assert buildLog.text.contains( '    JDK [1.1,): matches' )
+assert buildLog.text.contains( '  Profile Id: profile-property (Active: true, Source: pom)' )
+assert buildLog.text.contains( '    Property env=ci: matches' )
+assert buildLog.text.contains( '  Profile Id: profile-file (Active: false, Source: pom)' )
+// the path of the file is made absolute by Maven
+assert buildLog.text =~ /    File missing=.*pom\.xml: does not match/
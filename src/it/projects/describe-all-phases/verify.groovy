@@ -0,0 +1,30 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+def result = new File(basedir, 'result.txt').text;
+def ls = System.getProperty( "line.separator" );
+
+assert result.startsWith( "The lifecycle phases of the packagings jar, pom are bound to the following goals:" + ls )
+assert result.contains( "'clean' lifecycle:" + ls + "* pre-clean" + ls + "  jar, pom: Not defined" + ls )
+assert result.contains( "* compile" + ls + "  jar: org.apache.maven.plugins:maven-compiler-plugin:" )
+assert result.contains( "  pom: Not defined" + ls )
+assert result.contains( "'site' lifecycle:" + ls )
+
+return true;
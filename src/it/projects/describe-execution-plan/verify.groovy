@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+def result = new File(basedir, 'result.txt').text;
+def ls = System.getProperty( "line.separator" );
+
+assert result.startsWith( "'verify' does not run any goal for org.apache.maven.its.help:test:pom:1.0." + ls )
+
+def moduleA = result.indexOf( "'verify' runs the following goals for org.apache.maven.its.help:module-a:jar:1.0:" + ls )
+assert moduleA > 0
+def clean = result.indexOf( "* initialize: org.apache.maven.plugins:maven-clean-plugin:", moduleA )
+def test = result.indexOf( "* test: org.apache.maven.plugins:maven-surefire-plugin:2.4.3:test (default-test)", moduleA )
+assert clean > moduleA
+assert test > clean
+
+return true;
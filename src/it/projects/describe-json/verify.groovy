@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import groovy.json.JsonSlurper
+
+def result = new JsonSlurper().parse(new File(basedir, 'result.json'))
+
+assert result.groupId == 'org.apache.maven.plugins'
+assert result.artifactId == 'maven-surefire-plugin'
+assert result.version == '2.4.3'
+assert result.goalPrefix == 'surefire'
+
+def test = result.mojos.find { it.goal == 'test' }
+assert test.report == false
+assert test.phase == 'test'
+
+def childDelegation = test.parameters.find { it.name == 'childDelegation' }
+assert childDelegation.userProperty == 'childDelegation'
+assert childDelegation.defaultValue == 'false'
+assert childDelegation.required == false
+assert childDelegation.description.contains('<br/>')
+
+return true;
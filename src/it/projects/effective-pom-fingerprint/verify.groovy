@@ -0,0 +1,24 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+def lines = new File(basedir, 'fingerprints.txt').readLines()
+assert lines.size() == 2
+assert lines[0] ==~ /[0-9a-f]{64}  org\.apache\.maven\.its\.help:test:pom:1\.0/
+assert lines[1] ==~ /[0-9a-f]{64}  org\.apache\.maven\.its\.help:module:pom:1\.0/
+assert lines[0].substring(0, 64) != lines[1].substring(0, 64)
@@ -0,0 +1,28 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+// the effective POM of a module removed from the reactor, and a file which was not written by help:effective-pom
+def removed = new File(basedir, 'target/effective-poms/org.apache.maven.its.help/removed.xml')
+removed.parentFile.mkdirs()
+removed.text = '<?xml version="1.0" encoding="UTF-8"?>\n<!-- Effective POM for project \'org.apache.maven.its.help:removed:jar:1.0\' -->\n<project/>\n'
+def notes = new File(basedir, 'target/effective-poms/notes/notes.xml')
+notes.parentFile.mkdirs()
+notes.text = '<notes/>\n'
+
+return true;
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+def parent = new File(basedir, 'target/effective-poms/org.apache.maven.its.help/test.xml')
+def module = new File(basedir, 'target/effective-poms/org.apache.maven.its.help/module.xml')
+assert parent.text.contains('<artifactId>test</artifactId>')
+assert !parent.text.contains('<projects>')
+assert module.text.contains('<artifactId>module</artifactId>')
+assert module.text.startsWith('<?xml')
+
+assert !new File(basedir, 'target/effective-poms/org.apache.maven.its.help/removed.xml').exists()
+assert new File(basedir, 'target/effective-poms/notes/notes.xml').exists()
+
+def log = new File(basedir, 'build.log').text
+assert log.contains('(2 written, 0 unchanged, 1 deleted)')
+assert log.contains('(0 written, 2 unchanged, 0 deleted)')
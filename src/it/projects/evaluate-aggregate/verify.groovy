@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+def lines = new File(basedir, 'build.log').readLines()
+def start = lines.indexOf('[org.apache.maven.its.help:aggregate]')
+assert start >= 0
+assert lines.subList(start, start + 11) == [
+    '[org.apache.maven.its.help:aggregate]',
+    'project.artifactId=aggregate',
+    'project.description=First line\\nsecond line',
+    '',
+    '[org.apache.maven.its.help:module-a]',
+    'project.artifactId=module-a',
+    'project.description=Module a',
+    '',
+    '[org.apache.maven.its.help:module-b]',
+    'project.artifactId=module-b',
+    'project.description=Module b' ]
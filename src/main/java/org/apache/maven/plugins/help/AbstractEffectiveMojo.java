@@ -34,6 +34,7 @@ import java.util.Properties;
 import java.util.Set;
 
 import org.apache.maven.project.ProjectBuilder;
+import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.XMLWriter;
 import org.codehaus.plexus.util.xml.XmlWriterUtil;
 import org.eclipse.aether.RepositorySystem;
@@ -50,6 +51,8 @@ import org.jdom2.output.XMLOutputter;
  * @since 2.1
  */
 public abstract class AbstractEffectiveMojo extends AbstractHelpMojo {
+    /** The width of the words of a comment line, each followed by a space. */
+    private static final int COMMENT_WIDTH = XmlWriterUtil.DEFAULT_COLUMN_LINE - "<!-- -->".length() - 1;
 
     protected AbstractEffectiveMojo(ProjectBuilder projectBuilder, RepositorySystem repositorySystem) {
         super(projectBuilder, repositorySystem);
@@ -80,12 +83,7 @@ public abstract class AbstractEffectiveMojo extends AbstractHelpMojo {
      * @param writer not null
      */
     protected static void writeHeader(XMLWriter writer) {
-        XmlWriterUtil.writeCommentLineBreak(writer);
-        XmlWriterUtil.writeComment(writer, " ");
-        XmlWriterUtil.writeComment(writer, "Generated by Maven Help Plugin");
-        XmlWriterUtil.writeComment(writer, "See: https://maven.apache.org/plugins/maven-help-plugin/");
-        XmlWriterUtil.writeComment(writer, " ");
-        XmlWriterUtil.writeCommentLineBreak(writer);
+        writeComments(writer, getHeaderComments());
     }
 
     /**
@@ -95,11 +93,76 @@ public abstract class AbstractEffectiveMojo extends AbstractHelpMojo {
      * @param comment not null
      */
     protected static void writeComment(XMLWriter writer, String comment) {
-        XmlWriterUtil.writeCommentLineBreak(writer);
-        XmlWriterUtil.writeComment(writer, " ");
-        XmlWriterUtil.writeComment(writer, comment);
-        XmlWriterUtil.writeComment(writer, " ");
-        XmlWriterUtil.writeCommentLineBreak(writer);
+        writeComments(writer, getComments(comment));
+    }
+
+    /**
+     * @return the text of each comment in the Effective POM/settings header.
+     */
+    protected static List<String> getHeaderComments() {
+        List<String> comments = new ArrayList<>();
+        comments.add(getCommentLineBreak());
+        comments.addAll(getCommentLines(" "));
+        comments.addAll(getCommentLines("Generated by Maven Help Plugin"));
+        comments.addAll(getCommentLines("See: https://maven.apache.org/plugins/maven-help-plugin/"));
+        comments.addAll(getCommentLines(" "));
+        comments.add(getCommentLineBreak());
+        return comments;
+    }
+
+    /**
+     * @param comment not null
+     * @return the text of each comment framing the given comment in a normalize way.
+     */
+    protected static List<String> getComments(String comment) {
+        List<String> comments = new ArrayList<>();
+        comments.add(getCommentLineBreak());
+        comments.addAll(getCommentLines(" "));
+        comments.addAll(getCommentLines(comment));
+        comments.addAll(getCommentLines(" "));
+        comments.add(getCommentLineBreak());
+        return comments;
+    }
+
+    private static void writeComments(XMLWriter writer, List<String> comments) {
+        for (String comment : comments) {
+            writer.writeMarkup("<!--" + comment + "-->" + XmlWriterUtil.LS);
+        }
+    }
+
+    /**
+     * @return the text of a comment drawing a line, as {@link XmlWriterUtil#writeCommentLineBreak(XMLWriter)}.
+     */
+    private static String getCommentLineBreak() {
+        return getCommentLine(StringUtils.repeat("=", COMMENT_WIDTH - 1) + " ");
+    }
+
+    /**
+     * Splits a comment in lines padded to the same width, as {@link XmlWriterUtil#writeComment(XMLWriter, String)}.
+     *
+     * @param comment not null
+     * @return the text of each comment line, never containing <code>--</code>.
+     */
+    private static List<String> getCommentLines(String comment) {
+        while (comment.contains("--")) {
+            comment = comment.replace("--", "- -");
+        }
+
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : StringUtils.split(comment, " ")) {
+            if (line.length() > 0 && line.length() + word.length() + 1 > COMMENT_WIDTH) {
+                lines.add(getCommentLine(line.toString()));
+                line.setLength(0);
+            }
+            line.append(word).append(' ');
+        }
+        lines.add(getCommentLine(line.toString()));
+        return lines;
+    }
+
+    private static String getCommentLine(String line) {
+        return " " + line + StringUtils.repeat(" ", Math.max(0, COMMENT_WIDTH - line.length()));
     }
 
     /**
@@ -109,9 +172,7 @@ public abstract class AbstractEffectiveMojo extends AbstractHelpMojo {
      * @return pretty format of the xml or the original {@code effectiveModel} if an error occurred.
      */
     protected static String prettyFormat(String effectiveModel, String encoding, boolean omitDeclaration) {
-        SAXBuilder builder = new SAXBuilder();
-        builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-        builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        SAXBuilder builder = newSAXBuilder();
         try {
             Document effectiveDocument = builder.build(new StringReader(effectiveModel));
 
@@ -132,6 +193,16 @@ public abstract class AbstractEffectiveMojo extends AbstractHelpMojo {
         }
     }
 
+    /**
+     * @return a new builder to parse XML, without access to external DTDs or schemas.
+     */
+    protected static SAXBuilder newSAXBuilder() {
+        SAXBuilder builder = new SAXBuilder();
+        builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return builder;
+    }
+
     /**
      * Properties which provides a sorted keySet().
      */
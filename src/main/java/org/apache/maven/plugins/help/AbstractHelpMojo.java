@@ -22,12 +22,22 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
@@ -121,6 +131,80 @@ public abstract class AbstractHelpMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Runs the given task for each element, on at most <code>threads</code> threads.
+     *
+     * @param elements the elements to process, not null.
+     * @param threads the maximum number of threads, the elements are processed in the current thread if lower than 2.
+     * @param task the task to run for each element, not null.
+     * @param <T> the type of the elements.
+     * @param <R> the type of the results.
+     * @return the results of the task, in the order of the elements.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    protected static <T, R> List<R> runConcurrently(List<T> elements, int threads, Task<T, R> task)
+            throws MojoExecutionException, MojoFailureException {
+        List<R> results = new ArrayList<>(elements.size());
+        runConcurrently(elements, threads, task, results::add);
+        return results;
+    }
+
+    /**
+     * Runs the given task for each element, on at most <code>threads</code> threads, and handles the results in the
+     * order of the elements as soon as they are available. At most two tasks per thread are run or waiting to be
+     * handled at any time, so that the memory used by the pending results is bounded.
+     *
+     * @param elements the elements to process, not null.
+     * @param threads the maximum number of threads, the elements are processed in the current thread if lower than 2.
+     * @param task the task to run for each element, not null.
+     * @param handler the handler of the results, called by the current thread, not null.
+     * @param <T> the type of the elements.
+     * @param <R> the type of the results.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    protected static <T, R> void runConcurrently(
+            List<T> elements, int threads, Task<T, R> task, ResultHandler<R> handler)
+            throws MojoExecutionException, MojoFailureException {
+        if (threads < 2 || elements.size() < 2) {
+            for (T element : elements) {
+                handler.handle(task.run(element));
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, elements.size()));
+        try {
+            Deque<Future<R>> futures = new ArrayDeque<>();
+            Iterator<T> iterator = elements.iterator();
+            while (iterator.hasNext() || !futures.isEmpty()) {
+                while (iterator.hasNext() && futures.size() < 2 * threads) {
+                    T element = iterator.next();
+                    futures.add(executor.submit(() -> task.run(element)));
+                }
+                handler.handle(futures.remove().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for the results", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MojoExecutionException) {
+                throw (MojoExecutionException) cause;
+            } else if (cause instanceof MojoFailureException) {
+                throw (MojoFailureException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MojoExecutionException(cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Parses the given String into GAV artifact coordinate information, adding the given type.
      *
@@ -170,17 +254,12 @@ public abstract class AbstractHelpMojo extends AbstractMojo {
      */
     protected MavenProject getMavenProject(String artifactString) throws MojoExecutionException {
         try {
-            ProjectBuildingRequest pbr = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
-            pbr.setRemoteRepositories(project.getRemoteArtifactRepositories());
-            pbr.setPluginArtifactRepositories(project.getPluginArtifactRepositories());
-            pbr.setProject(null);
-            pbr.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
-            pbr.setResolveDependencies(true);
-
             org.eclipse.aether.artifact.Artifact artifact =
                     resolveArtifact(getAetherArtifact(artifactString, "pom")).getArtifact();
 
-            return projectBuilder.build(artifact.getFile(), pbr).getProject();
+            return projectBuilder
+                    .build(artifact.getFile(), newProjectBuildingRequest(true))
+                    .getProject();
         } catch (Exception e) {
             throw new MojoExecutionException(
                     "Unable to get the POM for the artifact '" + artifactString + "'. Verify the artifact parameter.",
@@ -188,6 +267,23 @@ public abstract class AbstractHelpMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Creates a request to build a project from a POM outside of the reactor, such as the POM of a plugin, with the
+     * repositories of the current project.
+     *
+     * @param resolveDependencies whether the dependencies of the built project should be resolved too.
+     * @return a new project building request, never <code>null</code>.
+     */
+    protected ProjectBuildingRequest newProjectBuildingRequest(boolean resolveDependencies) {
+        ProjectBuildingRequest pbr = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+        pbr.setRemoteRepositories(project.getRemoteArtifactRepositories());
+        pbr.setPluginArtifactRepositories(project.getPluginArtifactRepositories());
+        pbr.setProject(null);
+        pbr.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+        pbr.setResolveDependencies(resolveDependencies);
+        return pbr;
+    }
+
     protected org.eclipse.aether.resolution.ArtifactResult resolveArtifact(
             org.eclipse.aether.artifact.Artifact artifact) throws RepositoryException {
         RepositorySystemSession repositorySession = session.getRepositorySession();
@@ -201,4 +297,34 @@ public abstract class AbstractHelpMojo extends AbstractMojo {
                 repositorySession,
                 new ArtifactRequest(artifactDescriptor.getArtifact(), project.getRemoteProjectRepositories(), null));
     }
+
+    /**
+     * A task run by {@link #runConcurrently(List, int, Task)} for each element.
+     *
+     * @param <T> the type of the elements.
+     * @param <R> the type of the results.
+     */
+    protected interface Task<T, R> {
+        /**
+         * @param element the element to process.
+         * @return the result for the given element.
+         * @throws MojoExecutionException if any
+         * @throws MojoFailureException if any
+         */
+        R run(T element) throws MojoExecutionException, MojoFailureException;
+    }
+
+    /**
+     * A handler of the results of {@link #runConcurrently(List, int, Task, ResultHandler)}.
+     *
+     * @param <R> the type of the results.
+     */
+    protected interface ResultHandler<R> {
+        /**
+         * @param result the result of a task.
+         * @throws MojoExecutionException if any
+         * @throws MojoFailureException if any
+         */
+        void handle(R result) throws MojoExecutionException, MojoFailureException;
+    }
 }
@@ -21,11 +21,29 @@ package org.apache.maven.plugins.help;
 import javax.inject.Inject;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationFile;
+import org.apache.maven.model.ActivationOS;
+import org.apache.maven.model.ActivationProperty;
 import org.apache.maven.model.Profile;
+import org.apache.maven.model.profile.DefaultProfileActivationContext;
+import org.apache.maven.model.profile.ProfileActivationContext;
+import org.apache.maven.model.profile.activation.ProfileActivator;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -47,6 +65,12 @@ import org.eclipse.aether.RepositorySystem;
  */
 @Mojo(name = "all-profiles", requiresProject = false)
 public class AllProfilesMojo extends AbstractHelpMojo {
+    /**
+     * The source of the profiles that are not declared in a POM, as used by
+     * {@link MavenProject#getInjectedProfileIds()}.
+     */
+    private static final String EXTERNAL_SOURCE = "external";
+
     // ----------------------------------------------------------------------
     // Mojo parameters
     // ----------------------------------------------------------------------
@@ -63,9 +87,53 @@ public class AllProfilesMojo extends AbstractHelpMojo {
     @Parameter(defaultValue = "${settings.profiles}", readonly = true, required = true)
     private List<org.apache.maven.settings.Profile> settingsProfiles;
 
+    /**
+     * The format of the output: <code>text</code> lists the profiles of each project, while <code>csv</code> and
+     * <code>json</code> write a matrix of the profiles by project, with the source of each profile, i.e. the project
+     * declaring it or <code>external</code> for the profiles of the settings. In the matrix, each profile is either
+     * <code>active</code> or <code>inactive</code> for a project, or not available to it.
+     * <br/>
+     * <b>Note</b>: When an <code>output</code> file is given, the matrix is streamed to that file.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "outputFormat", defaultValue = "text")
+    private String outputFormat;
+
+    /**
+     * With the <code>text</code> output format, explains the activation of each profile: whether it is activated or
+     * deactivated explicitly, and whether each of its activation conditions matches the current build.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "verbose", defaultValue = "false")
+    private boolean verbose;
+
+    /**
+     * The profile activators of Maven, by name.
+     */
+    private final Map<String, ProfileActivator> profileActivators;
+
+    /**
+     * The profiles of the projects and of their parents collected so far, by <code>groupId:artifactId:version</code>,
+     * so that the parents shared by many projects of the reactor are only visited once. Maven builds a distinct
+     * instance of a parent outside of the reactor for each of its modules, so the instances can not be the keys.
+     */
+    private final Map<String, InheritedProfiles> inheritedProfiles = new HashMap<>();
+
+    /**
+     * The explanations of the activation conditions evaluated so far, by profile id and activation block, so that
+     * the activations shared by many projects are only evaluated once.
+     */
+    private final Map<List<Object>, List<String>> activationExplanations = new HashMap<>();
+
     @Inject
-    public AllProfilesMojo(ProjectBuilder projectBuilder, RepositorySystem repositorySystem) {
+    public AllProfilesMojo(
+            ProjectBuilder projectBuilder,
+            RepositorySystem repositorySystem,
+            Map<String, ProfileActivator> profileActivators) {
         super(projectBuilder, repositorySystem);
+        this.profileActivators = profileActivators;
     }
 
     // ----------------------------------------------------------------------
@@ -75,17 +143,28 @@ public class AllProfilesMojo extends AbstractHelpMojo {
     /** {@inheritDoc} */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if ("csv".equals(outputFormat) || "json".equals(outputFormat)) {
+            writeProfileMatrix();
+            return;
+        } else if (outputFormat != null && !"text".equals(outputFormat)) {
+            throw new MojoExecutionException(
+                    "The outputFormat parameter '" + outputFormat + "' should be either 'text', 'csv' or 'json'.");
+        }
+
         StringBuilder descriptionBuffer = new StringBuilder();
 
+        // the settings are the same for all the projects
+        SortedMap<String, Profile> settingsProfilesByIds = getSettingsProfiles();
+
         for (MavenProject project : projects) {
             descriptionBuffer
                     .append("Listing Profiles for Project: ")
                     .append(project.getId())
                     .append(LS);
 
-            Map<String, Profile> allProfilesByIds = new HashMap<>();
-            Map<String, Profile> activeProfilesByIds = new HashMap<>();
-            addSettingsProfiles(allProfilesByIds);
+            // the profiles are sorted by id, so that the output does not depend on the order they are declared in
+            Map<String, Profile> allProfilesByIds = new TreeMap<>(settingsProfilesByIds);
+            Map<String, Profile> activeProfilesByIds = new TreeMap<>();
             addProjectPomProfiles(project, allProfilesByIds, activeProfilesByIds);
 
             // now display
@@ -95,8 +174,8 @@ public class AllProfilesMojo extends AbstractHelpMojo {
                 // active Profiles will be a subset of *all* profiles
                 allProfilesByIds.keySet().removeAll(activeProfilesByIds.keySet());
 
-                writeProfilesDescription(descriptionBuffer, activeProfilesByIds, true);
-                writeProfilesDescription(descriptionBuffer, allProfilesByIds, false);
+                writeProfilesDescription(descriptionBuffer, project, activeProfilesByIds, true);
+                writeProfilesDescription(descriptionBuffer, project, allProfilesByIds, false);
             }
         }
 
@@ -117,7 +196,8 @@ public class AllProfilesMojo extends AbstractHelpMojo {
     // Private methods
     // ----------------------------------------------------------------------
 
-    private void writeProfilesDescription(StringBuilder sb, Map<String, Profile> profilesByIds, boolean active) {
+    private void writeProfilesDescription(
+            StringBuilder sb, MavenProject project, Map<String, Profile> profilesByIds, boolean active) {
         for (Profile p : profilesByIds.values()) {
             sb.append("  Profile Id: ").append(p.getId());
             sb.append(" (Active: ")
@@ -126,6 +206,143 @@ public class AllProfilesMojo extends AbstractHelpMojo {
                     .append(p.getSource())
                     .append(")");
             sb.append(LS);
+            if (verbose) {
+                for (String explanation : explainActivation(project, p)) {
+                    sb.append("    ").append(explanation).append(LS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Explains the activation of a profile for a project.
+     *
+     * @param project the project, not <code>null</code>.
+     * @param profile the profile, not <code>null</code>.
+     * @return the explanations, one per line.
+     */
+    private List<String> explainActivation(MavenProject project, Profile profile) {
+        List<String> explanations = new ArrayList<>();
+        if (session.getRequest().getActiveProfiles().contains(profile.getId())) {
+            explanations.add("Activated explicitly");
+        }
+        if (session.getRequest().getInactiveProfiles().contains(profile.getId())) {
+            explanations.add("Deactivated explicitly");
+        }
+
+        Activation activation = profile.getActivation();
+        if (activation == null) {
+            explanations.add("No activation condition");
+            return explanations;
+        }
+
+        ActivationOS os = activation.getOs();
+        ActivationProperty property = activation.getProperty();
+        ActivationFile file = activation.getFile();
+        // the files are looked up relatively to the project directory, and the problems name the profile
+        List<Object> key = Arrays.asList(
+                profile.getId(),
+                activation.isActiveByDefault(),
+                activation.getJdk(),
+                os != null ? Arrays.asList(os.getName(), os.getFamily(), os.getArch(), os.getVersion()) : null,
+                property != null ? Arrays.asList(property.getName(), property.getValue()) : null,
+                file != null ? Arrays.asList(file.getExists(), file.getMissing(), project.getBasedir()) : null);
+        List<String> conditions = activationExplanations.get(key);
+        if (conditions == null) {
+            conditions = evaluateActivation(project, profile);
+            activationExplanations.put(key, conditions);
+        }
+        explanations.addAll(conditions);
+        return explanations;
+    }
+
+    /**
+     * Evaluates each activation condition of a profile against the current build, like Maven does when building the
+     * project. Maven only activates the profile if all of its conditions match.
+     *
+     * @param project the project, not <code>null</code>.
+     * @param profile the profile, with an activation, not <code>null</code>.
+     * @return the explanations of the conditions, one per condition.
+     */
+    private List<String> evaluateActivation(MavenProject project, Profile profile) {
+        DefaultProfileActivationContext context = new DefaultProfileActivationContext()
+                .setSystemProperties(session.getSystemProperties())
+                .setUserProperties(session.getUserProperties())
+                .setProjectDirectory(project.getBasedir());
+
+        Activation activation = profile.getActivation();
+        List<String> explanations = new ArrayList<>();
+        if (activation.isActiveByDefault()) {
+            explanations.add("Active by default, unless another profile of the same POM is activated");
+        }
+        if (activation.getJdk() != null) {
+            Activation condition = new Activation();
+            condition.setJdk(activation.getJdk());
+            explanations.add(
+                    evaluateCondition("jdk-version", "JDK " + activation.getJdk(), profile, condition, context));
+        }
+        ActivationOS os = activation.getOs();
+        if (os != null) {
+            Activation condition = new Activation();
+            condition.setOs(os);
+            StringBuilder description = new StringBuilder("OS");
+            appendIfNotNull(description, " name=", os.getName());
+            appendIfNotNull(description, " family=", os.getFamily());
+            appendIfNotNull(description, " arch=", os.getArch());
+            appendIfNotNull(description, " version=", os.getVersion());
+            explanations.add(evaluateCondition("os", description.toString(), profile, condition, context));
+        }
+        ActivationProperty property = activation.getProperty();
+        if (property != null) {
+            Activation condition = new Activation();
+            condition.setProperty(property);
+            StringBuilder description = new StringBuilder("Property ").append(property.getName());
+            appendIfNotNull(description, "=", property.getValue());
+            explanations.add(evaluateCondition("property", description.toString(), profile, condition, context));
+        }
+        ActivationFile file = activation.getFile();
+        if (file != null) {
+            Activation condition = new Activation();
+            condition.setFile(file);
+            StringBuilder description = new StringBuilder("File");
+            appendIfNotNull(description, " exists=", file.getExists());
+            appendIfNotNull(description, " missing=", file.getMissing());
+            explanations.add(evaluateCondition("file", description.toString(), profile, condition, context));
+        }
+        if (explanations.isEmpty()) {
+            explanations.add("No activation condition");
+        }
+        return explanations;
+    }
+
+    /**
+     * Evaluates a single activation condition with the profile activator of Maven.
+     *
+     * @return the explanation of the condition.
+     */
+    private String evaluateCondition(
+            String activatorName,
+            String description,
+            Profile profile,
+            Activation condition,
+            ProfileActivationContext context) {
+        ProfileActivator activator = profileActivators.get(activatorName);
+        if (activator == null) {
+            return description + ": can not be evaluated";
+        }
+
+        Profile conditionProfile = new Profile();
+        conditionProfile.setId(profile.getId());
+        conditionProfile.setActivation(condition);
+        List<String> problems = new ArrayList<>();
+        boolean matches = activator.isActive(conditionProfile, context, request -> problems.add(request.getMessage()));
+        return description + ": " + (matches ? "matches" : "does not match")
+                + (problems.isEmpty() ? "" : " (" + String.join(", ", problems) + ")");
+    }
+
+    private static void appendIfNotNull(StringBuilder sb, String name, String value) {
+        if (value != null) {
+            sb.append(name).append(value);
         }
     }
 
@@ -146,29 +363,223 @@ public class AllProfilesMojo extends AbstractHelpMojo {
 
         getLog().debug("Attempting to read profiles from pom.xml...");
 
-        while (project != null) {
-            for (Profile profile : project.getModel().getProfiles()) {
-                allProfiles.put(profile.getId(), profile);
+        InheritedProfiles inherited = getInheritedProfiles(project);
+        for (Profile profile : inherited.all) {
+            allProfiles.put(profile.getId(), profile);
+        }
+        for (Profile profile : inherited.active) {
+            activeProfiles.put(profile.getId(), profile);
+        }
+    }
+
+    /**
+     * Writes the matrix of the profiles by project to the <code>output</code> file, without keeping it in memory, or
+     * to the console.
+     *
+     * @throws MojoExecutionException if the matrix can not be written.
+     */
+    private void writeProfileMatrix() throws MojoExecutionException {
+        Collection<ProfileRow> rows = getProfileMatrix();
+        if (rows.isEmpty()) {
+            getLog().warn("No profiles detected!");
+        }
+
+        if (output != null) {
+            output.getParentFile().mkdirs();
+            try (Writer out = Files.newBufferedWriter(output.toPath())) {
+                writeProfileMatrix(out, rows);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write profiles description to output: " + output, e);
             }
-            if (project.getActiveProfiles() != null) {
-                for (Profile profile : project.getActiveProfiles()) {
-                    activeProfiles.put(profile.getId(), profile);
+
+            getLog().info("Wrote descriptions to: " + output);
+        } else {
+            StringWriter out = new StringWriter();
+            try {
+                writeProfileMatrix(out, rows);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write profiles description", e);
+            }
+            getLog().info(out.toString());
+        }
+    }
+
+    /**
+     * Gets the profiles available to the projects, in a single pass over the projects.
+     *
+     * @return the profiles, each with the projects it is available to and active for, sorted by id and then by
+     *         source.
+     */
+    private Collection<ProfileRow> getProfileMatrix() {
+        Map<String, Profile> settingsProfilesByIds = getSettingsProfiles();
+
+        Map<List<String>, ProfileRow> rows = new HashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            MavenProject project = projects.get(i);
+            Map<String, List<String>> activeProfileIds = project.getInjectedProfileIds();
+            for (String id : settingsProfilesByIds.keySet()) {
+                addProfile(rows, id, EXTERNAL_SOURCE, i, activeProfileIds);
+            }
+            InheritedProfiles inherited = getInheritedProfiles(project);
+            for (int j = 0; j < inherited.all.size(); j++) {
+                addProfile(rows, inherited.all.get(j).getId(), inherited.sources.get(j), i, activeProfileIds);
+            }
+        }
+        List<ProfileRow> sorted = new ArrayList<>(rows.values());
+        sorted.sort(Comparator.comparing((ProfileRow row) -> row.id).thenComparing(row -> row.source));
+        return sorted;
+    }
+
+    private static void addProfile(
+            Map<List<String>, ProfileRow> rows,
+            String id,
+            String source,
+            int project,
+            Map<String, List<String>> activeProfileIds) {
+        ProfileRow row = rows.computeIfAbsent(Arrays.asList(id, source), key -> new ProfileRow(id, source));
+        row.available.set(project);
+        List<String> active = activeProfileIds.get(source);
+        if (active != null && active.contains(id)) {
+            row.active.set(project);
+        }
+    }
+
+    private void writeProfileMatrix(Writer out, Collection<ProfileRow> rows) throws IOException {
+        if ("json".equals(outputFormat)) {
+            JsonStreamWriter json = new JsonStreamWriter(out);
+            json.beginObject();
+            json.name("projects").beginArray();
+            for (MavenProject project : projects) {
+                json.value(project.getId());
+            }
+            json.endArray();
+            json.name("profiles").beginArray();
+            for (ProfileRow row : rows) {
+                json.beginObject().member("id", row.id).member("source", row.source);
+                // the states of the profile for each project, in the order of the projects
+                json.name("states").beginArray();
+                for (int i = 0; i < projects.size(); i++) {
+                    json.value(row.available.get(i) ? (row.active.get(i) ? "active" : "inactive") : null);
                 }
+                json.endArray().endObject();
             }
-            project = project.getParent();
+            json.endArray().endObject();
+            out.write('\n');
+            return;
+        }
+
+        writeCsv(out, "Profile Id");
+        out.write(',');
+        writeCsv(out, "Source");
+        for (MavenProject project : projects) {
+            out.write(',');
+            writeCsv(out, project.getId());
+        }
+        out.write('\n');
+        for (ProfileRow row : rows) {
+            writeCsv(out, row.id);
+            out.write(',');
+            writeCsv(out, row.source);
+            for (int i = 0; i < projects.size(); i++) {
+                out.write(',');
+                if (row.available.get(i)) {
+                    out.write(row.active.get(i) ? "active" : "inactive");
+                }
+            }
+            out.write('\n');
+        }
+    }
+
+    private static void writeCsv(Writer out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            out.write(value);
+        } else {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
         }
     }
 
     /**
-     * Adds the profiles from <code>settings.xml</code>.
+     * Gets the profiles of a project followed by the profiles of all of its parents, collecting the profiles of each
+     * project once per run.
      *
-     * @param allProfiles Map to add the profiles to.
+     * @param project the project, not <code>null</code>.
+     * @return the profiles of the project and of its parents, never <code>null</code>.
      */
-    private void addSettingsProfiles(Map<String, Profile> allProfiles) {
+    private InheritedProfiles getInheritedProfiles(MavenProject project) {
+        String id = project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
+        InheritedProfiles inherited = inheritedProfiles.get(id);
+        if (inherited == null) {
+            List<Profile> all = new ArrayList<>(project.getModel().getProfiles());
+            List<String> sources = new ArrayList<>(Collections.nCopies(all.size(), id));
+            List<Profile> active = new ArrayList<>();
+            if (project.getActiveProfiles() != null) {
+                active.addAll(project.getActiveProfiles());
+            }
+            if (project.getParent() != null) {
+                InheritedProfiles parent = getInheritedProfiles(project.getParent());
+                all.addAll(parent.all);
+                sources.addAll(parent.sources);
+                active.addAll(parent.active);
+            }
+            inherited = new InheritedProfiles(all, sources, active);
+            inheritedProfiles.put(id, inherited);
+        }
+        return inherited;
+    }
+
+    /**
+     * Gets the profiles from <code>settings.xml</code>, converted once for all the projects.
+     *
+     * @return the profiles sorted by id, not modifiable.
+     */
+    private SortedMap<String, Profile> getSettingsProfiles() {
         getLog().debug("Attempting to read profiles from settings.xml...");
+        SortedMap<String, Profile> profiles = new TreeMap<>();
         for (org.apache.maven.settings.Profile settingsProfile : settingsProfiles) {
             Profile profile = SettingsUtils.convertFromSettingsProfile(settingsProfile);
-            allProfiles.put(profile.getId(), profile);
+            profiles.put(profile.getId(), profile);
+        }
+        return Collections.unmodifiableSortedMap(profiles);
+    }
+
+    /**
+     * The profiles of a project and of all of its parents, the profiles of the project first.
+     */
+    private static class InheritedProfiles {
+        private final List<Profile> all;
+
+        /**
+         * The <code>groupId:artifactId:version</code> of the project declaring each profile of <code>all</code>.
+         */
+        private final List<String> sources;
+
+        private final List<Profile> active;
+
+        InheritedProfiles(List<Profile> all, List<String> sources, List<Profile> active) {
+            this.all = all;
+            this.sources = sources;
+            this.active = active;
+        }
+    }
+
+    /**
+     * A profile of the matrix, with the indexes of the projects it is available to and of the projects it is active
+     * for.
+     */
+    private static class ProfileRow {
+        private final String id;
+
+        private final String source;
+
+        private final BitSet available = new BitSet();
+
+        private final BitSet active = new BitSet();
+
+        ProfileRow(String id, String source) {
+            this.id = id;
+            this.source = source;
         }
     }
 }
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Reads the superclass and the interfaces of classes from their class files, without loading them, to tell whether
+ * a class is a subtype of another one. Class files are looked up in the parent class loader first, then in the
+ * class path elements in order, like a class loader would.
+ *
+ * @since 3.5.2
+ */
+class ClassHierarchy implements Closeable {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String OBJECT = "java/lang/Object";
+
+    private final ClassLoader parent;
+
+    /**
+     * The jar files or directories of the class path, by class path element.
+     */
+    private final Map<File, JarFile> classPath = new LinkedHashMap<>();
+
+    /**
+     * The direct supertypes of the classes read so far, by internal name.
+     */
+    private final Map<String, List<String>> supertypes = new HashMap<>();
+
+    /**
+     * @param classPath the jar files or directories to read the class files from, not <code>null</code>.
+     * @param parent the class loader to look up the class files in first, may be <code>null</code>.
+     * @throws IOException if a jar file can not be opened.
+     */
+    ClassHierarchy(List<File> classPath, ClassLoader parent) throws IOException {
+        this.parent = parent;
+        try {
+            for (File element : classPath) {
+                this.classPath.put(element, element.isFile() ? new JarFile(element) : null);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tells whether a class is the given type, or extends or implements it, directly or not.
+     *
+     * @param className the binary name of the class, not <code>null</code>.
+     * @param typeName the binary name of the class or interface, not <code>null</code>.
+     * @return whether the class is a subtype of the given type.
+     * @throws ClassNotFoundException if the class file of the class or of one of its supertypes can not be found.
+     * @throws IOException if a class file can not be read.
+     */
+    boolean isAssignableTo(String className, String typeName) throws ClassNotFoundException, IOException {
+        String type = typeName.replace('.', '/');
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(className.replace('.', '/'));
+        while (!pending.isEmpty()) {
+            String name = pending.remove();
+            if (name.equals(type)) {
+                return true;
+            }
+            if (visited.add(name)) {
+                pending.addAll(getSupertypes(name));
+            }
+        }
+        return false;
+    }
+
+    private List<String> getSupertypes(String name) throws ClassNotFoundException, IOException {
+        if (OBJECT.equals(name)) {
+            return Collections.emptyList();
+        }
+        List<String> result = supertypes.get(name);
+        if (result == null) {
+            try (InputStream in = open(name + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name.replace('/', '.'));
+                }
+                result = readSupertypes(new DataInputStream(new BufferedInputStream(in)));
+            }
+            supertypes.put(name, result);
+        }
+        return result;
+    }
+
+    private InputStream open(String resource) throws IOException {
+        InputStream in = parent != null ? parent.getResourceAsStream(resource) : null;
+        if (in != null) {
+            return in;
+        }
+        for (Map.Entry<File, JarFile> element : classPath.entrySet()) {
+            JarFile jar = element.getValue();
+            if (jar != null) {
+                JarEntry entry = jar.getJarEntry(resource);
+                if (entry != null) {
+                    return jar.getInputStream(entry);
+                }
+            } else {
+                File file = new File(element.getKey(), resource);
+                if (file.isFile()) {
+                    return new FileInputStream(file);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the constant pool of a class file, only keeping the class names, up to its superclass and interfaces.
+     *
+     * @param data the class file, not <code>null</code>.
+     * @return the internal names of the superclass, if any, and of the interfaces.
+     * @throws IOException if the class file can not be read or is not valid.
+     */
+    static List<String> readSupertypes(DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        skip(data, 4); // minor and major versions
+
+        int count = data.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classes = new int[count];
+        for (int i = 1; i < count; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = data.readUTF();
+                    break;
+                case 7: // Class
+                    classes[i] = data.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(data, 2);
+                    break;
+                case 15: // MethodHandle
+                    skip(data, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(data, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skip(data, 8);
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IOException("Invalid constant pool tag " + tag);
+            }
+        }
+
+        skip(data, 4); // access flags and this class
+        List<String> result = new ArrayList<>();
+        int superClass = data.readUnsignedShort();
+        if (superClass != 0) {
+            result.add(utf8[classes[superClass]]);
+        }
+        int interfaces = data.readUnsignedShort();
+        for (int i = 0; i < interfaces; i++) {
+            result.add(utf8[classes[data.readUnsignedShort()]]);
+        }
+        return result;
+    }
+
+    private static void skip(DataInputStream data, int bytes) throws IOException {
+        int remaining = bytes;
+        while (remaining > 0) {
+            int skipped = data.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (JarFile jar : classPath.values()) {
+            if (jar == null) {
+                continue;
+            }
+            try {
+                jar.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -22,26 +22,45 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.lifecycle.DefaultLifecycles;
 import org.apache.maven.lifecycle.Lifecycle;
+import org.apache.maven.lifecycle.LifecycleExecutor;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
 import org.apache.maven.lifecycle.internal.MojoDescriptorCreator;
 import org.apache.maven.lifecycle.mapping.LifecycleMapping;
+import org.apache.maven.lifecycle.mapping.LifecycleMojo;
+import org.apache.maven.lifecycle.mapping.LifecyclePhase;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
@@ -53,10 +72,8 @@ import org.apache.maven.plugin.version.PluginVersionResolutionException;
 import org.apache.maven.plugin.version.PluginVersionResolver;
 import org.apache.maven.plugin.version.PluginVersionResult;
 import org.apache.maven.plugins.annotations.Mojo;
-import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
-import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.reporting.MavenReport;
 import org.apache.maven.shared.utils.logging.MessageUtils;
 import org.apache.maven.tools.plugin.generator.HtmlToPlainTextConverter;
@@ -64,6 +81,7 @@ import org.codehaus.plexus.util.StringUtils;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 
 /**
  * Displays a list of the attributes for a Maven Plugin and/or goals (aka Mojo - Maven plain Old Java Object).
@@ -95,6 +113,11 @@ public class DescribeMojo extends AbstractHelpMojo {
 
     private static final Pattern EXPRESSION = Pattern.compile("^\\$\\{([^}]+)\\}$");
 
+    /**
+     * Handle on <code>HelpMojo#toLines(String, int, int, int)</code>, looked up on first use.
+     */
+    private static volatile MethodHandle toLinesHandle;
+
     // ----------------------------------------------------------------------
     // Mojo components
     // ----------------------------------------------------------------------
@@ -124,7 +147,13 @@ public class DescribeMojo extends AbstractHelpMojo {
      */
     private final Map<String, LifecycleMapping> lifecycleMappings;
 
+    /**
+     * Component used to calculate the execution plans of the projects.
+     */
+    private final LifecycleExecutor lifecycleExecutor;
+
     @Inject
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public DescribeMojo(
             ProjectBuilder projectBuilder,
             RepositorySystem repositorySystem,
@@ -132,7 +161,8 @@ public class DescribeMojo extends AbstractHelpMojo {
             MojoDescriptorCreator mojoDescriptorCreator,
             PluginVersionResolver pluginVersionResolver,
             DefaultLifecycles defaultLifecycles,
-            Map<String, LifecycleMapping> lifecycleMappings) {
+            Map<String, LifecycleMapping> lifecycleMappings,
+            LifecycleExecutor lifecycleExecutor) {
 
         super(projectBuilder, repositorySystem);
         this.pluginManager = pluginManager;
@@ -140,6 +170,7 @@ public class DescribeMojo extends AbstractHelpMojo {
         this.pluginVersionResolver = pluginVersionResolver;
         this.defaultLifecycles = defaultLifecycles;
         this.lifecycleMappings = lifecycleMappings;
+        this.lifecycleExecutor = lifecycleExecutor;
     }
 
     // ----------------------------------------------------------------------
@@ -218,6 +249,100 @@ public class DescribeMojo extends AbstractHelpMojo {
     @org.apache.maven.plugins.annotations.Parameter(property = "cmd")
     private String cmd;
 
+    /**
+     * Describes all the plugins used by the build, i.e. the build plugins and the managed plugins of all the projects
+     * of the reactor, in a single report. Each plugin version is described once.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "all", defaultValue = "false")
+    private boolean all;
+
+    /**
+     * Describes the goals bound to all the phases of all the lifecycles, for each packaging of the projects of the
+     * reactor, in a single matrix, rather than describing a single phase with <code>cmd</code>.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "allPhases", defaultValue = "false")
+    private boolean allPhases;
+
+    /**
+     * Describes the goals that <code>cmd</code> actually runs for each project of the reactor, in the order they run,
+     * including the executions declared in the POMs and the forked executions, rather than the default lifecycle
+     * mapping of the phase.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "executionPlan", defaultValue = "false")
+    private boolean executionPlan;
+
+    /**
+     * The maximum number of threads used to describe the plugins in <code>all</code> mode, or to calculate the
+     * execution plans of the projects with <code>executionPlan</code>. Defaults to the number of available
+     * processors.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * The format of the description: <code>text</code> writes it for humans, while <code>json</code> writes the
+     * plugins, their goals and their parameters as a JSON document, with all their details and with the descriptions
+     * as they are in the plugin descriptors, usually in HTML. With <code>minimal</code>, the goals are left out.
+     * <br/>
+     * <b>Note</b>: When an <code>output</code> file is given, the JSON document is streamed to that file.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "outputFormat", defaultValue = "text")
+    private String outputFormat;
+
+    /**
+     * With the <code>json</code> output format, converts the descriptions from HTML to plain text, like with the
+     * <code>text</code> output format.
+     *
+     * @since 3.5.2
+     */
+    @org.apache.maven.plugins.annotations.Parameter(property = "plainText", defaultValue = "false")
+    private boolean plainText;
+
+    /**
+     * This is the list of projects currently slated to be built by Maven.
+     */
+    @org.apache.maven.plugins.annotations.Parameter(
+            defaultValue = "${reactorProjects}",
+            required = true,
+            readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * Whether the goals checked so far should be used as reports, by goal for each plugin id.
+     */
+    private final Map<String, Map<String, Boolean>> reportGoals = new ConcurrentHashMap<>();
+
+    /**
+     * The number of goals known to be report goals or not, plus the number of descriptions known in plain text, when
+     * the plugin descriptor was read from the index, for each plugin id read from the index.
+     */
+    private final Map<String, Integer> indexedEntries = new ConcurrentHashMap<>();
+
+    /**
+     * The descriptions converted to plain text so far, by description, shared by all the plugins described.
+     */
+    private final Map<String, String> plainTexts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger plainTextHits = new AtomicInteger();
+
+    private final AtomicInteger plainTextMisses = new AtomicInteger();
+
+    /**
+     * The resolutions of the plugins started so far, by plugin id, shared by the lookup of their names and the
+     * identification of their report goals.
+     */
+    private final Map<String, FutureTask<ResolvedPlugin>> resolvedPlugins = new ConcurrentHashMap<>();
+
     // ----------------------------------------------------------------------
     // Public methods
     // ----------------------------------------------------------------------
@@ -227,8 +352,56 @@ public class DescribeMojo extends AbstractHelpMojo {
      */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if (outputFormat != null && !"text".equals(outputFormat) && !"json".equals(outputFormat)) {
+            throw new MojoExecutionException(
+                    "The outputFormat parameter '" + outputFormat + "' should be either 'text' or 'json'.");
+        }
+
+        if ("json".equals(outputFormat)) {
+            describeAsJson();
+        } else {
+            describeAsText();
+        }
+
+        if (getLog().isDebugEnabled()) {
+            int hits = plainTextHits.get();
+            int conversions = hits + plainTextMisses.get();
+            getLog().debug("Converted " + conversions + " descriptions to plain text, " + hits
+                    + " of them from the cache");
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // Private methods
+    // ----------------------------------------------------------------------
+
+    /**
+     * Describes the plugin, the goal or the command as text.
+     *
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void describeAsText() throws MojoExecutionException, MojoFailureException {
         StringBuilder descriptionBuffer = new StringBuilder();
 
+        if (allPhases) {
+            describeAllPhases(descriptionBuffer);
+            writeDescription(descriptionBuffer);
+            return;
+        }
+
+        if (executionPlan) {
+            describeExecutionPlans(descriptionBuffer);
+            writeDescription(descriptionBuffer);
+            return;
+        }
+
+        if (all) {
+            describeAllPlugins(descriptionBuffer);
+            writeDescription(descriptionBuffer);
+            return;
+        }
+
         boolean describePlugin = true;
         if (cmd != null && !cmd.isEmpty()) {
             describePlugin = describeCommand(descriptionBuffer);
@@ -247,15 +420,13 @@ public class DescribeMojo extends AbstractHelpMojo {
             } else {
                 describePlugin(descriptor, descriptionBuffer);
             }
+
+            updatePluginDescriptorIndex(descriptor);
         }
 
         writeDescription(descriptionBuffer);
     }
 
-    // ----------------------------------------------------------------------
-    // Private methods
-    // ----------------------------------------------------------------------
-
     /**
      * Method to write the Mojo description to the output file
      *
@@ -276,6 +447,606 @@ public class DescribeMojo extends AbstractHelpMojo {
         }
     }
 
+    /**
+     * Describes all the build plugins and managed plugins of the reactor projects, each plugin version once and in
+     * the order of their coordinates. The plugins are described concurrently, on at most <code>threads</code>
+     * threads.
+     *
+     * @param buffer contains the information to be displayed or printed
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void describeAllPlugins(StringBuilder buffer) throws MojoExecutionException, MojoFailureException {
+        List<PluginInfo> plugins = getUsedPlugins();
+        if (plugins.isEmpty()) {
+            append(buffer, "The build does not use any plugin.", 0);
+            return;
+        }
+
+        append(buffer, "The build uses " + plugins.size() + " plugin" + (plugins.size() > 1 ? "s" : "") + ":", 0);
+        buffer.append(LS);
+
+        runConcurrently(plugins, getThreads(), this::describeUsedPlugin, buffer::append);
+
+        if (!detail) {
+            buffer.append("For more information, run 'mvn help:describe [...] -Ddetail'");
+            buffer.append(LS);
+        }
+    }
+
+    /**
+     * Describes the goals bound to all the phases of all the lifecycles, for each packaging of the reactor projects.
+     * The packagings with the same goals bound to a phase are listed together.
+     *
+     * @param buffer contains the information to be displayed or printed
+     * @throws MojoFailureException if any
+     */
+    private void describeAllPhases(StringBuilder buffer) throws MojoFailureException {
+        Map<String, Map<String, List<String>>> catalog = getLifecycleCatalog();
+
+        buffer.append("The lifecycle phases of the packagings ");
+        buffer.append(String.join(", ", catalog.keySet()));
+        buffer.append(" are bound to the following goals:").append(LS);
+        for (Lifecycle lifecycle : defaultLifecycles.getLifeCycles()) {
+            buffer.append(LS);
+            buffer.append("'").append(lifecycle.getId()).append("' lifecycle:").append(LS);
+            for (String phase : lifecycle.getPhases()) {
+                buffer.append("* ").append(phase).append(LS);
+
+                Map<List<String>, List<String>> packagings = new LinkedHashMap<>();
+                for (Map.Entry<String, Map<String, List<String>>> entry : catalog.entrySet()) {
+                    List<String> goals = entry.getValue().getOrDefault(phase, Collections.emptyList());
+                    packagings.computeIfAbsent(goals, k -> new ArrayList<>()).add(entry.getKey());
+                }
+                for (Map.Entry<List<String>, List<String>> entry : packagings.entrySet()) {
+                    buffer.append("  ")
+                            .append(String.join(", ", entry.getValue()))
+                            .append(": ");
+                    buffer.append(entry.getKey().isEmpty() ? NOT_DEFINED : String.join(", ", entry.getKey()));
+                    buffer.append(LS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the goals bound to the phases of all the lifecycles, for each packaging of the reactor projects. The
+     * lifecycle mapping of each packaging is looked up once, however many projects use it.
+     *
+     * @return the goals bound to the phases, by phase for each packaging, in the order of the packagings.
+     * @throws MojoFailureException if a plugin, a goal or a command to describe is given too, or if none of the
+     *             packagings has a lifecycle mapping.
+     */
+    private Map<String, Map<String, List<String>>> getLifecycleCatalog() throws MojoFailureException {
+        if (all
+                || StringUtils.isNotEmpty(plugin)
+                || StringUtils.isNotEmpty(groupId)
+                || StringUtils.isNotEmpty(artifactId)
+                || StringUtils.isNotEmpty(goal)
+                || StringUtils.isNotEmpty(cmd)) {
+            throw new MojoFailureException("The 'allPhases' parameter can not be used with 'all', 'plugin', "
+                    + "'groupId', 'artifactId', 'goal' or 'cmd'.");
+        }
+
+        Map<String, Map<String, List<String>>> catalog = new TreeMap<>();
+        Set<String> unmapped = new TreeSet<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            String packaging = reactorProject.getPackaging();
+            if (catalog.containsKey(packaging) || unmapped.contains(packaging)) {
+                continue;
+            }
+
+            LifecycleMapping mapping = lifecycleMappings.get(packaging);
+            if (mapping == null) {
+                getLog().warn("No lifecycle mapping found for the packaging '" + packaging + "' of "
+                        + reactorProject.getId() + ", its phases are not described.");
+                unmapped.add(packaging);
+            } else {
+                catalog.put(packaging, getPhaseBindings(mapping));
+            }
+        }
+
+        if (catalog.isEmpty()) {
+            throw new MojoFailureException("None of the packagings " + unmapped + " has a lifecycle mapping.");
+        }
+        return catalog;
+    }
+
+    /**
+     * @param mapping the lifecycle mapping of a packaging, not <code>null</code>.
+     * @return the goals bound to the phases of all the lifecycles, by phase, for the packaging.
+     */
+    private Map<String, List<String>> getPhaseBindings(LifecycleMapping mapping) {
+        Map<String, List<String>> bindings = new HashMap<>();
+        Map<String, org.apache.maven.lifecycle.mapping.Lifecycle> mappedLifecycles = mapping.getLifecycles();
+        for (Lifecycle lifecycle : defaultLifecycles.getLifeCycles()) {
+            org.apache.maven.lifecycle.mapping.Lifecycle mappedLifecycle =
+                    mappedLifecycles != null ? mappedLifecycles.get(lifecycle.getId()) : null;
+            Map<String, LifecyclePhase> phases = mappedLifecycle != null ? mappedLifecycle.getLifecyclePhases() : null;
+            if (phases == null) {
+                // the lifecycles that are not specific to the packaging have their own default bindings
+                phases = lifecycle.getDefaultLifecyclePhases();
+            }
+            if (phases == null) {
+                continue;
+            }
+
+            for (Map.Entry<String, LifecyclePhase> phase : phases.entrySet()) {
+                List<String> goals = new ArrayList<>();
+                if (phase.getValue() != null && phase.getValue().getMojos() != null) {
+                    for (LifecycleMojo mojo : phase.getValue().getMojos()) {
+                        String goal = mojo.getGoal() != null ? mojo.getGoal().trim() : "";
+                        if (!goal.isEmpty()) {
+                            goals.add(goal);
+                        }
+                    }
+                }
+                bindings.put(phase.getKey(), goals);
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * Describes the goals run by <code>cmd</code> for each reactor project, in the order of the projects. The
+     * execution plans of the projects are calculated concurrently, on at most <code>threads</code> threads.
+     *
+     * @param buffer contains the information to be displayed or printed
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void describeExecutionPlans(StringBuilder buffer) throws MojoExecutionException, MojoFailureException {
+        List<MavenProject> projects = getExecutionPlanProjects();
+        List<MavenExecutionPlan> plans = runConcurrently(projects, getThreads(), this::calculateExecutionPlan);
+
+        for (int i = 0; i < projects.size(); i++) {
+            if (i > 0) {
+                buffer.append(LS);
+            }
+            List<MojoExecution> executions = plans.get(i).getMojoExecutions();
+            buffer.append("'").append(cmd).append("'");
+            if (executions.isEmpty()) {
+                buffer.append(" does not run any goal for ")
+                        .append(projects.get(i).getId())
+                        .append(".");
+                buffer.append(LS);
+            } else {
+                buffer.append(" runs the following goals for ")
+                        .append(projects.get(i).getId())
+                        .append(":");
+                buffer.append(LS);
+                appendExecutions(buffer, executions, 0);
+            }
+        }
+    }
+
+    /**
+     * @return the reactor projects to calculate the execution plan of <code>cmd</code> for.
+     * @throws MojoFailureException if no command is given, or if a plugin or a goal to describe is given too.
+     */
+    private List<MavenProject> getExecutionPlanProjects() throws MojoFailureException {
+        if (StringUtils.isEmpty(cmd)) {
+            throw new MojoFailureException(
+                    "The 'executionPlan' parameter requires the phases or goals to run, given with 'cmd'.");
+        }
+        if (all
+                || StringUtils.isNotEmpty(plugin)
+                || StringUtils.isNotEmpty(groupId)
+                || StringUtils.isNotEmpty(artifactId)
+                || StringUtils.isNotEmpty(goal)) {
+            throw new MojoFailureException("The 'executionPlan' parameter can not be used with 'all', 'plugin', "
+                    + "'groupId', 'artifactId' or 'goal'.");
+        }
+        return reactorProjects;
+    }
+
+    /**
+     * Calculates the execution plan of <code>cmd</code> for a project, like Maven does before building it. The
+     * project is set as the current project of a copy of the session, so that the plans of several projects can be
+     * calculated concurrently.
+     *
+     * @param project the project, not <code>null</code>.
+     * @return the execution plan, with the Mojo descriptors of all the executions resolved.
+     * @throws MojoExecutionException if the execution plan can not be calculated.
+     */
+    private MavenExecutionPlan calculateExecutionPlan(MavenProject project) throws MojoExecutionException {
+        MavenSession projectSession = session.clone();
+        projectSession.setCurrentProject(project);
+        try {
+            return lifecycleExecutor.calculateExecutionPlan(projectSession, StringUtils.split(cmd));
+        } catch (Exception e) {
+            throw new MojoExecutionException(
+                    "Unable to calculate the execution plan of '" + cmd + "' for " + project.getId(), e);
+        }
+    }
+
+    /**
+     * Appends the given executions, each with its phase and its execution id, followed by its forked executions.
+     *
+     * @param buffer contains the information to be displayed or printed
+     * @param executions the executions, not <code>null</code>.
+     * @param indent the indentation level of the executions.
+     */
+    private static void appendExecutions(StringBuilder buffer, List<MojoExecution> executions, int indent) {
+        for (MojoExecution execution : executions) {
+            buffer.append(StringUtils.repeat(" ", indent * INDENT_SIZE)).append("* ");
+            if (execution.getLifecyclePhase() != null) {
+                buffer.append(execution.getLifecyclePhase()).append(": ");
+            }
+            buffer.append(getGoalId(execution));
+            buffer.append(" (").append(execution.getExecutionId()).append(")").append(LS);
+            for (List<MojoExecution> forked : execution.getForkedExecutions().values()) {
+                appendExecutions(buffer, forked, indent + 1);
+            }
+        }
+    }
+
+    /**
+     * @param execution the execution, not <code>null</code>.
+     * @return the <code>groupId:artifactId:version:goal</code> of the goal run by the execution.
+     */
+    private static String getGoalId(MojoExecution execution) {
+        return execution.getGroupId() + ":" + execution.getArtifactId() + ":" + execution.getVersion() + ":"
+                + execution.getGoal();
+    }
+
+    /**
+     * Gets the build plugins and managed plugins of the reactor projects, each plugin version once and in the order
+     * of their coordinates. A plugin without a version is only kept if no project gives it a version.
+     *
+     * @return the plugins used by the build, never <code>null</code>.
+     * @throws MojoFailureException if a single plugin or goal to describe is given too.
+     */
+    private List<PluginInfo> getUsedPlugins() throws MojoFailureException {
+        if (StringUtils.isNotEmpty(plugin)
+                || StringUtils.isNotEmpty(groupId)
+                || StringUtils.isNotEmpty(artifactId)
+                || StringUtils.isNotEmpty(goal)
+                || StringUtils.isNotEmpty(cmd)) {
+            throw new MojoFailureException(
+                    "The 'all' parameter can not be used with 'plugin', 'groupId', 'artifactId', 'goal' or 'cmd'.");
+        }
+
+        Map<String, PluginInfo> plugins = new TreeMap<>();
+        Set<String> versioned = new HashSet<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            List<Plugin> used = new ArrayList<>(reactorProject.getBuildPlugins());
+            if (reactorProject.getPluginManagement() != null) {
+                used.addAll(reactorProject.getPluginManagement().getPlugins());
+            }
+            for (Plugin p : used) {
+                plugins.computeIfAbsent(p.getGroupId() + ":" + p.getArtifactId() + ":" + p.getVersion(), key -> {
+                    PluginInfo pi = new PluginInfo();
+                    pi.setGroupId(p.getGroupId());
+                    pi.setArtifactId(p.getArtifactId());
+                    pi.setVersion(p.getVersion());
+                    return pi;
+                });
+                if (p.getVersion() != null) {
+                    versioned.add(p.getKey());
+                }
+            }
+        }
+        // a plugin without a version in a module is the one with the version managed for it in another one
+        plugins.values()
+                .removeIf(pi -> pi.getVersion() == null
+                        && versioned.contains(Plugin.constructKey(pi.getGroupId(), pi.getArtifactId())));
+        return new ArrayList<>(plugins.values());
+    }
+
+    /**
+     * @return the maximum number of threads used to describe the plugins in <code>all</code> mode.
+     */
+    private int getThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Describes a plugin used by the build.
+     *
+     * @param pi the plugin
+     * @return the description of the plugin, empty if its descriptor could not be retrieved.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private String describeUsedPlugin(PluginInfo pi) throws MojoExecutionException, MojoFailureException {
+        PluginDescriptor pd = lookupUsedPlugin(pi);
+        if (pd == null) {
+            return "";
+        }
+
+        StringBuilder buffer = new StringBuilder();
+        describePlugin(pd, buffer);
+        updatePluginDescriptorIndex(pd);
+        return buffer.toString();
+    }
+
+    /**
+     * Retrieves the descriptor of a plugin used by the build.
+     *
+     * @param pi the plugin
+     * @return the plugin descriptor, or <code>null</code> if it could not be retrieved.
+     * @throws MojoFailureException if any
+     */
+    private PluginDescriptor lookupUsedPlugin(PluginInfo pi) throws MojoFailureException {
+        try {
+            return lookupPluginDescriptor(pi);
+        } catch (MojoExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            getLog().warn("Unable to describe the plugin " + pi.getGroupId() + ":" + pi.getArtifactId() + ":"
+                    + pi.getVersion() + ": " + cause.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Describes the plugins or the goal as a JSON document: an object for a plugin, with its goals, or an object with
+     * a <code>plugins</code> array in <code>all</code> mode.
+     *
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void describeAsJson() throws MojoExecutionException, MojoFailureException {
+        if (allPhases) {
+            Map<String, Map<String, List<String>>> catalog = getLifecycleCatalog();
+            writeJsonDescription(json -> writeJson(json, catalog));
+            return;
+        }
+
+        if (executionPlan) {
+            List<MavenProject> projects = getExecutionPlanProjects();
+            List<MavenExecutionPlan> plans = runConcurrently(projects, getThreads(), this::calculateExecutionPlan);
+            writeJsonDescription(json -> {
+                json.beginObject().name("projects").beginArray();
+                for (int i = 0; i < projects.size(); i++) {
+                    json.beginObject().member("id", projects.get(i).getId());
+                    writeJson(json, "executions", plans.get(i).getMojoExecutions());
+                    json.endObject();
+                }
+                json.endArray().endObject();
+            });
+            return;
+        }
+
+        if (all) {
+            List<PluginInfo> plugins = getUsedPlugins();
+            writeJsonDescription(json -> {
+                json.beginObject().name("plugins").beginArray();
+                runConcurrently(
+                        plugins,
+                        getThreads(),
+                        pi -> {
+                            PluginDescriptor pd = lookupUsedPlugin(pi);
+                            if (pd != null && !minimal && pd.getMojos() != null) {
+                                identifyReportGoals(pd, pd.getMojos());
+                            }
+                            return pd;
+                        },
+                        pd -> {
+                            if (pd != null) {
+                                try {
+                                    writeJson(json, pd, null);
+                                } catch (IOException e) {
+                                    throw new MojoExecutionException("Cannot write plugin description", e);
+                                }
+                                updatePluginDescriptorIndex(pd);
+                            }
+                        });
+                json.endArray().endObject();
+            });
+            return;
+        }
+
+        if (cmd != null && !cmd.isEmpty() && !describeCommand(new StringBuilder())) {
+            throw new MojoFailureException("The json output format can not be used to describe the phase '" + cmd
+                    + "', only plugins and goals.");
+        }
+
+        PluginInfo pi = parsePluginLookupInfo();
+        PluginDescriptor descriptor = lookupPluginDescriptor(pi);
+        MojoDescriptor mojo = null;
+        if (goal != null && !goal.isEmpty()) {
+            mojo = descriptor.getMojo(goal);
+            if (mojo == null) {
+                throw new MojoFailureException(
+                        "The goal '" + goal + "' does not exist in the plugin '" + pi.getPrefix() + "'");
+            }
+        }
+
+        MojoDescriptor only = mojo;
+        writeJsonDescription(json -> writeJson(json, descriptor, only));
+        updatePluginDescriptorIndex(descriptor);
+    }
+
+    /**
+     * Writes a JSON description to the <code>output</code> file, without keeping it in memory, or to the console.
+     *
+     * @param description the description to write
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void writeJsonDescription(JsonDescription description) throws MojoExecutionException, MojoFailureException {
+        if (output != null) {
+            output.getParentFile().mkdirs();
+            try (Writer out = Files.newBufferedWriter(output.toPath())) {
+                description.writeTo(new JsonStreamWriter(out));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write plugin/goal description to output: " + output, e);
+            }
+
+            getLog().info("Wrote descriptions to: " + output);
+        } else {
+            StringWriter out = new StringWriter();
+            try {
+                description.writeTo(new JsonStreamWriter(out));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write plugin/goal description", e);
+            }
+            getLog().info(out.toString());
+        }
+    }
+
+    /**
+     * Writes a plugin as a JSON object.
+     *
+     * @param json the JSON writer
+     * @param pd the plugin descriptor
+     * @param only the only goal to write, or <code>null</code> to write all the goals of the plugin
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void writeJson(JsonStreamWriter json, PluginDescriptor pd, MojoDescriptor only)
+            throws IOException, MojoExecutionException, MojoFailureException {
+        json.beginObject()
+                .member("groupId", pd.getGroupId())
+                .member("artifactId", pd.getArtifactId())
+                .member("version", pd.getVersion())
+                .member("goalPrefix", pd.getGoalPrefix())
+                .member("name", pd.getName())
+                .member("description", toJsonDescription(pd.getDescription()));
+
+        if (!minimal && pd.getMojos() != null) {
+            List<MojoDescriptor> mojos = only != null
+                    ? Collections.singletonList(only)
+                    : pd.getMojos().stream()
+                            .sorted((m1, m2) -> m1.getGoal().compareToIgnoreCase(m2.getGoal()))
+                            .collect(Collectors.toList());
+            identifyReportGoals(pd, mojos);
+
+            json.name("mojos").beginArray();
+            for (MojoDescriptor md : mojos) {
+                writeJson(json, md);
+            }
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    /**
+     * Writes executions, each followed by its forked executions, as a member of the current JSON object.
+     *
+     * @param json the JSON writer, not <code>null</code>.
+     * @param name the name of the member.
+     * @param executions the executions, not <code>null</code>.
+     * @throws IOException if any
+     */
+    private static void writeJson(JsonStreamWriter json, String name, List<MojoExecution> executions)
+            throws IOException {
+        json.name(name).beginArray();
+        for (MojoExecution execution : executions) {
+            json.beginObject();
+            json.member("phase", execution.getLifecyclePhase());
+            json.member("goal", getGoalId(execution));
+            json.member("executionId", execution.getExecutionId());
+            List<MojoExecution> forked = new ArrayList<>();
+            execution.getForkedExecutions().values().forEach(forked::addAll);
+            if (!forked.isEmpty()) {
+                writeJson(json, "forkedExecutions", forked);
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * Writes the goals bound to the phases of all the lifecycles, for each packaging, as JSON.
+     *
+     * @param json the JSON writer, not <code>null</code>.
+     * @param catalog the goals bound to the phases, by phase for each packaging, not <code>null</code>.
+     * @throws IOException if any
+     */
+    private void writeJson(JsonStreamWriter json, Map<String, Map<String, List<String>>> catalog) throws IOException {
+        json.beginObject();
+        json.name("packagings").beginArray();
+        for (String packaging : catalog.keySet()) {
+            json.value(packaging);
+        }
+        json.endArray();
+
+        json.name("lifecycles").beginArray();
+        for (Lifecycle lifecycle : defaultLifecycles.getLifeCycles()) {
+            json.beginObject().member("id", lifecycle.getId());
+            json.name("phases").beginArray();
+            for (String phase : lifecycle.getPhases()) {
+                json.beginObject().member("phase", phase);
+                json.name("goals").beginObject();
+                for (Map.Entry<String, Map<String, List<String>>> entry : catalog.entrySet()) {
+                    json.name(entry.getKey()).beginArray();
+                    for (String goal : entry.getValue().getOrDefault(phase, Collections.emptyList())) {
+                        json.value(goal);
+                    }
+                    json.endArray();
+                }
+                json.endObject().endObject();
+            }
+            json.endArray().endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * Writes a goal, with its editable parameters, as a JSON object.
+     *
+     * @param json the JSON writer
+     * @param md the Mojo descriptor
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void writeJson(JsonStreamWriter json, MojoDescriptor md)
+            throws IOException, MojoExecutionException, MojoFailureException {
+        json.beginObject()
+                .member("goal", md.getGoal())
+                .member("description", toJsonDescription(md.getDescription()))
+                .member("deprecated", md.getDeprecated())
+                .name("report")
+                .value(isReportGoal(md))
+                .member("implementation", md.getImplementation())
+                .member("language", md.getLanguage())
+                .member("phase", md.getPhase())
+                .member("executeGoal", md.getExecuteGoal())
+                .member("executePhase", md.getExecutePhase())
+                .member("executeLifecycle", md.getExecuteLifecycle());
+
+        json.name("parameters").beginArray();
+        if (md.getParameters() != null) {
+            List<Parameter> params = md.getParameters().stream()
+                    .filter(Parameter::isEditable)
+                    .sorted((p1, p2) -> p1.getName().compareToIgnoreCase(p2.getName()))
+                    .collect(Collectors.toList());
+            for (Parameter parameter : params) {
+                String expression = getExpression(md, parameter);
+                Matcher matcher = expression != null ? EXPRESSION.matcher(expression) : null;
+                boolean userProperty = matcher != null && matcher.matches();
+
+                json.beginObject()
+                        .member("name", parameter.getName())
+                        .member("alias", parameter.getAlias())
+                        .member("type", parameter.getType())
+                        .name("required")
+                        .value(parameter.isRequired())
+                        .member("defaultValue", getDefaultValue(md, parameter))
+                        .member("userProperty", userProperty ? matcher.group(1) : null)
+                        .member("expression", userProperty ? null : expression)
+                        .member("description", toJsonDescription(parameter.getDescription()))
+                        .member("deprecated", parameter.getDeprecated())
+                        .member("since", parameter.getSince())
+                        .endObject();
+            }
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * @param description the description of the element, may be <code>null</code>.
+     * @return the description as is, or converted to plain text with <code>plainText</code>.
+     */
+    private String toJsonDescription(String description) {
+        return description != null && plainText ? toDescription(description) : description;
+    }
+
     /**
      * Method for retrieving the description of the plugin
      *
@@ -326,19 +1097,115 @@ public class DescribeMojo extends AbstractHelpMojo {
             }
         }
 
+        PluginDescriptor indexed = readPluginDescriptorIndex(forLookup);
+        if (indexed != null) {
+            return indexed;
+        }
+
         try {
             return pluginManager.getPluginDescriptor(
                     forLookup, project.getRemotePluginRepositories(), session.getRepositorySession());
         } catch (Exception e) {
             throw new MojoExecutionException(
                     "Error retrieving plugin descriptor for:" + LS + LS + "groupId: '"
-                            + groupId + "'" + LS + "artifactId: '" + artifactId + "'" + LS + "version: '" + version
-                            + "'" + LS
+                            + forLookup.getGroupId() + "'" + LS + "artifactId: '" + forLookup.getArtifactId() + "'"
+                            + LS + "version: '" + forLookup.getVersion() + "'" + LS
                             + LS,
                     e);
         }
     }
 
+    /**
+     * Reads the descriptor of a plugin from the index in the local repository.
+     *
+     * @param plugin the plugin, with its version, not <code>null</code>.
+     * @return the plugin descriptor, or <code>null</code> if the plugin is not indexed or if its jar changed.
+     */
+    private PluginDescriptor readPluginDescriptorIndex(Plugin plugin) {
+        LocalRepositoryManager lrm = session.getRepositorySession().getLocalRepositoryManager();
+        if (lrm == null) {
+            return null;
+        }
+
+        File jar = getPluginJar(lrm, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion());
+        try {
+            Map<String, Boolean> reports = new ConcurrentHashMap<>();
+            Map<String, String> texts = new HashMap<>();
+            PluginDescriptor pd = PluginDescriptorIndex.of(lrm)
+                    .read(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), jar, reports, texts);
+            if (pd != null) {
+                getLog().debug("Using the indexed descriptor of the plugin " + pd.getId());
+                reportGoals.put(pd.getId(), reports);
+                plainTexts.putAll(texts);
+                indexedEntries.put(pd.getId(), reports.size() + texts.size());
+            }
+            return pd;
+        } catch (IOException e) {
+            getLog().debug("Unable to read the plugin descriptor index: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the descriptor of a plugin, along with the report goals identified and the descriptions converted to
+     * plain text so far, to the index in the local repository, unless it was read from the index and nothing else
+     * was identified or converted since then.
+     *
+     * @param pd the plugin descriptor, not <code>null</code>.
+     */
+    private void updatePluginDescriptorIndex(PluginDescriptor pd) {
+        LocalRepositoryManager lrm = session.getRepositorySession().getLocalRepositoryManager();
+        Map<String, Boolean> reports = getReportGoals(pd);
+        Map<String, String> texts = getPlainTexts(pd);
+        Integer indexed = indexedEntries.get(pd.getId());
+        if (lrm == null || (indexed != null && indexed >= reports.size() + texts.size())) {
+            return;
+        }
+
+        File jar = getPluginJar(lrm, pd.getGroupId(), pd.getArtifactId(), pd.getVersion());
+        if (!jar.isFile()) {
+            return;
+        }
+        try {
+            PluginDescriptorIndex.of(lrm).write(pd, jar, reports, texts);
+        } catch (IOException e) {
+            getLog().warn("Unable to write the plugin descriptor index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param pd the plugin descriptor, not <code>null</code>.
+     * @return the descriptions of the plugin, of its goals and of their parameters converted to plain text so far.
+     */
+    private Map<String, String> getPlainTexts(PluginDescriptor pd) {
+        List<String> descriptions = new ArrayList<>();
+        descriptions.add(pd.getDescription());
+        if (pd.getMojos() != null) {
+            for (MojoDescriptor md : pd.getMojos()) {
+                descriptions.add(md.getDescription());
+                if (md.getParameters() != null) {
+                    for (Parameter parameter : md.getParameters()) {
+                        descriptions.add(parameter.getDescription());
+                    }
+                }
+            }
+        }
+
+        Map<String, String> texts = new HashMap<>();
+        for (String description : descriptions) {
+            String text = description != null ? plainTexts.get(description) : null;
+            if (text != null) {
+                texts.put(description, text);
+            }
+        }
+        return texts;
+    }
+
+    private static File getPluginJar(LocalRepositoryManager lrm, String groupId, String artifactId, String version) {
+        Artifact jar = new DefaultArtifact(groupId, artifactId, "jar", version);
+        return new File(lrm.getRepository().getBasedir(), lrm.getPathForLocalArtifact(jar));
+    }
+
     /**
      * Method for parsing the plugin parameter
      *
@@ -396,16 +1263,12 @@ public class DescribeMojo extends AbstractHelpMojo {
         String name = pd.getName();
         if (name == null) {
             // Can be null because of MPLUGIN-137 (and descriptors generated with maven-plugin-tools-api <= 2.4.3)
+            // the name only needs the POM: the dependencies are resolved by identifyReportGoals, if it runs at all
             Artifact aetherArtifact = new DefaultArtifact(pd.getGroupId(), pd.getArtifactId(), "jar", pd.getVersion());
-            ProjectBuildingRequest pbr = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
-            pbr.setRemoteRepositories(project.getRemoteArtifactRepositories());
-            pbr.setPluginArtifactRepositories(project.getPluginArtifactRepositories());
-            pbr.setProject(null);
-            pbr.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
             try {
                 Artifact artifactCopy = resolveArtifact(aetherArtifact).getArtifact();
                 name = projectBuilder
-                        .build(RepositoryUtils.toArtifact(artifactCopy), pbr)
+                        .build(RepositoryUtils.toArtifact(artifactCopy), newProjectBuildingRequest(false))
                         .getProject()
                         .getName();
             } catch (Exception e) {
@@ -441,13 +1304,15 @@ public class DescribeMojo extends AbstractHelpMojo {
                     .sorted((m1, m2) -> m1.getGoal().compareToIgnoreCase(m2.getGoal()))
                     .collect(Collectors.toList());
 
+            identifyReportGoals(pd, mojos);
+
             for (MojoDescriptor md : mojos) {
                 describeMojoGuts(md, buffer, detail);
                 buffer.append(LS);
             }
         }
 
-        if (!detail) {
+        if (!detail && !all) {
             buffer.append("For more information, run 'mvn help:describe [...] -Ddetail'");
             buffer.append(LS);
         }
@@ -577,15 +1442,8 @@ public class DescribeMojo extends AbstractHelpMojo {
 
             buffer.append(LS);
 
-            // DGF wouldn't it be nice if this worked?
-            String defaultVal = parameter.getDefaultValue();
-            if (defaultVal == null) {
-                // defaultVal is ALWAYS null, this is a bug in PluginDescriptorBuilder (cf. MNG-4941)
-                defaultVal =
-                        md.getMojoConfiguration().getChild(parameter.getName()).getAttribute("default-value", null);
-            }
-
-            if (defaultVal != null && !defaultVal.isEmpty()) {
+            String defaultVal = getDefaultValue(md, parameter);
+            if (defaultVal != null) {
                 defaultVal = " (Default: " + MessageUtils.buffer().strong(defaultVal) + ")";
             } else {
                 defaultVal = "";
@@ -601,14 +1459,8 @@ public class DescribeMojo extends AbstractHelpMojo {
                 append(buffer, "Required", "true", 3);
             }
 
-            String expression = parameter.getExpression();
-            if (expression == null || expression.isEmpty()) {
-                // expression is ALWAYS null, this is a bug in PluginDescriptorBuilder (cf. MNG-4941).
-                // Fixed with Maven-3.0.1
-                expression =
-                        md.getMojoConfiguration().getChild(parameter.getName()).getValue(null);
-            }
-            if (expression != null && !expression.isEmpty()) {
+            String expression = getExpression(md, parameter);
+            if (expression != null) {
                 Matcher matcher = EXPRESSION.matcher(expression);
                 if (matcher.matches()) {
                     append(buffer, "User property", matcher.group(1), 3);
@@ -635,6 +1487,36 @@ public class DescribeMojo extends AbstractHelpMojo {
         }
     }
 
+    /**
+     * @param md the Mojo descriptor
+     * @param parameter a parameter of the Mojo
+     * @return the default value of the parameter, or <code>null</code> if it has none.
+     */
+    private static String getDefaultValue(MojoDescriptor md, Parameter parameter) {
+        // DGF wouldn't it be nice if this worked?
+        String defaultVal = parameter.getDefaultValue();
+        if (defaultVal == null) {
+            // defaultVal is ALWAYS null, this is a bug in PluginDescriptorBuilder (cf. MNG-4941)
+            defaultVal = md.getMojoConfiguration().getChild(parameter.getName()).getAttribute("default-value", null);
+        }
+        return defaultVal != null && !defaultVal.isEmpty() ? defaultVal : null;
+    }
+
+    /**
+     * @param md the Mojo descriptor
+     * @param parameter a parameter of the Mojo
+     * @return the expression of the parameter, or <code>null</code> if it has none.
+     */
+    private static String getExpression(MojoDescriptor md, Parameter parameter) {
+        String expression = parameter.getExpression();
+        if (expression == null || expression.isEmpty()) {
+            // expression is ALWAYS null, this is a bug in PluginDescriptorBuilder (cf. MNG-4941).
+            // Fixed with Maven-3.0.1
+            expression = md.getMojoConfiguration().getChild(parameter.getName()).getValue(null);
+        }
+        return expression != null && !expression.isEmpty() ? expression : null;
+    }
+
     /**
      * Describe the <code>cmd</code> parameter
      *
@@ -745,37 +1627,60 @@ public class DescribeMojo extends AbstractHelpMojo {
      * @throws MojoFailureException   if any can not invoke the method
      * @throws MojoExecutionException if no line was found for <code>text</code>
      */
+    @SuppressWarnings("unchecked")
     private static List<String> toLines(String text, int indent, int indentSize, int lineLength)
             throws MojoFailureException, MojoExecutionException {
+        MethodHandle handle = getToLinesHandle();
+
+        List<String> output;
+        try {
+            output = (List<String>) handle.invokeExact(text, indent, indentSize, lineLength);
+        } catch (NegativeArraySizeException e) {
+            throw new MojoFailureException("NegativeArraySizeException: " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // toLines declares no checked exception
+            throw new MojoFailureException("Unable to split the text into lines: " + e.getMessage(), e);
+        }
+
+        if (output == null) {
+            throw new MojoExecutionException("No output was specified.");
+        }
+
+        return output;
+    }
+
+    /**
+     * Looks up <code>HelpMojo#toLines(String, int, int, int)</code> once and keeps the resulting handle, since
+     * the method is called for every line of every parameter described.
+     *
+     * @return The handle, typed as <code>(String, int, int, int)List</code>, never <code>null</code>.
+     * @throws MojoFailureException if the method can not be looked up
+     */
+    private static MethodHandle getToLinesHandle() throws MojoFailureException {
+        MethodHandle handle = toLinesHandle;
+        if (handle != null) {
+            return handle;
+        }
+
         try {
             Method m =
                     HelpMojo.class.getDeclaredMethod("toLines", String.class, Integer.TYPE, Integer.TYPE, Integer.TYPE);
             m.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            List<String> output = (List<String>) m.invoke(HelpMojo.class, text, indent, indentSize, lineLength);
-
-            if (output == null) {
-                throw new MojoExecutionException("No output was specified.");
-            }
-
-            return output;
+            handle = MethodHandles.lookup()
+                    .unreflect(m)
+                    .asType(MethodType.methodType(List.class, String.class, int.class, int.class, int.class));
         } catch (SecurityException e) {
             throw new MojoFailureException("SecurityException: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            throw new MojoFailureException("IllegalArgumentException: " + e.getMessage());
         } catch (NoSuchMethodException e) {
             throw new MojoFailureException("NoSuchMethodException: " + e.getMessage());
         } catch (IllegalAccessException e) {
             throw new MojoFailureException("IllegalAccessException: " + e.getMessage());
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-
-            if (cause instanceof NegativeArraySizeException) {
-                throw new MojoFailureException("NegativeArraySizeException: " + cause.getMessage());
-            }
-
-            throw new MojoFailureException("InvocationTargetException: " + e.getMessage());
         }
+
+        toLinesHandle = handle;
+        return handle;
     }
 
     /**
@@ -864,57 +1769,158 @@ public class DescribeMojo extends AbstractHelpMojo {
     }
 
     /**
-     * Determines if this Mojo should be used as a report or not. This resolves the plugin project along with all of its
-     * transitive dependencies to determine if the Java class of this goal implements <code>MavenReport</code>.
+     * Determines if this Mojo should be used as a report or not.
      *
      * @param md Mojo descriptor
      * @return Whether or not this goal should be used as a report.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     * @see #identifyReportGoals(PluginDescriptor, List)
      */
-    private boolean isReportGoal(MojoDescriptor md) {
-        PluginDescriptor pd = md.getPluginDescriptor();
-        List<URL> urls = new ArrayList<>();
-        ProjectBuildingRequest pbr = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
-        pbr.setRemoteRepositories(project.getRemoteArtifactRepositories());
-        pbr.setPluginArtifactRepositories(project.getPluginArtifactRepositories());
-        pbr.setResolveDependencies(true);
-        pbr.setProject(null);
-        pbr.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
-        try {
-            Artifact jar = resolveArtifact(
-                            new DefaultArtifact(pd.getGroupId(), pd.getArtifactId(), "jar", pd.getVersion()))
-                    .getArtifact();
-            Artifact pom = resolveArtifact(
-                            new DefaultArtifact(pd.getGroupId(), pd.getArtifactId(), "pom", pd.getVersion()))
-                    .getArtifact();
-            MavenProject mavenProject = projectBuilder.build(pom.getFile(), pbr).getProject();
-            urls.add(jar.getFile().toURI().toURL());
-            for (String artifact : mavenProject.getCompileClasspathElements()) {
-                urls.add(new File(artifact).toURI().toURL());
-            }
-            try (URLClassLoader classLoader =
-                    new URLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader())) {
-                return MavenReport.class.isAssignableFrom(Class.forName(md.getImplementation(), false, classLoader));
+    private boolean isReportGoal(MojoDescriptor md) throws MojoExecutionException, MojoFailureException {
+        Map<String, Boolean> reports = getReportGoals(md.getPluginDescriptor());
+        if (!reports.containsKey(md.getGoal())) {
+            identifyReportGoals(md.getPluginDescriptor(), Collections.singletonList(md));
+        }
+        return reports.get(md.getGoal());
+    }
+
+    /**
+     * @param pd the plugin descriptor
+     * @return whether the goals of the plugin checked so far should be used as reports, by goal.
+     */
+    private Map<String, Boolean> getReportGoals(PluginDescriptor pd) {
+        return reportGoals.computeIfAbsent(pd.getId(), id -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Determines which of the given Mojos should be used as reports. This resolves the plugin project along with all
+     * of its transitive dependencies once, and checks if the Java class of each goal implements
+     * <code>MavenReport</code> by reading the headers of the class files of the plugin, without loading them.
+     *
+     * @param pd the descriptor of the plugin of the Mojos
+     * @param mojos the Mojos of the plugin to check
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void identifyReportGoals(PluginDescriptor pd, List<MojoDescriptor> mojos)
+            throws MojoExecutionException, MojoFailureException {
+        Map<String, Boolean> reports = getReportGoals(pd);
+        List<MojoDescriptor> unknown =
+                mojos.stream().filter(md -> !reports.containsKey(md.getGoal())).collect(Collectors.toList());
+        if (unknown.isEmpty()) {
+            return;
+        }
+
+        try (ClassHierarchy hierarchy =
+                new ClassHierarchy(resolvePlugin(pd).getClassPath(), getClass().getClassLoader())) {
+            // reading the constant pools is cheap: no pool of threads, which -Dall already uses for the plugins
+            for (MojoDescriptor md : unknown) {
+                reports.put(md.getGoal(), isReport(md, hierarchy));
             }
+        } catch (MojoExecutionException | MojoFailureException e) {
+            throw e;
         } catch (Exception e) {
+            getLog().warn("Couldn't identify if the goals of " + pd.getId() + " are report goals: " + e.getMessage());
+            unknown.forEach(md -> reports.putIfAbsent(md.getGoal(), false));
+        }
+    }
+
+    /**
+     * Resolves the plugin jar and the plugin project along with all of its transitive dependencies, once per plugin
+     * for the whole run: a plugin that could not be resolved is not resolved again.
+     *
+     * @param pd the plugin descriptor
+     * @return the resolved plugin, never <code>null</code>.
+     * @throws Exception if the plugin or its dependencies can not be resolved.
+     */
+    private ResolvedPlugin resolvePlugin(PluginDescriptor pd) throws Exception {
+        // the resolution runs outside of the map, whose locks must not be held during network and disk I/O: the
+        // first thread asking for a plugin resolves it, while the other ones wait for its result
+        FutureTask<ResolvedPlugin> resolution = new FutureTask<>(() -> doResolvePlugin(pd));
+        FutureTask<ResolvedPlugin> started = resolvedPlugins.putIfAbsent(pd.getId(), resolution);
+        if (started == null) {
+            resolution.run();
+        } else {
+            resolution = started;
+        }
+
+        try {
+            return resolution.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (Exception) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while resolving " + pd.getId(), e);
+        }
+    }
+
+    private ResolvedPlugin doResolvePlugin(PluginDescriptor pd) throws Exception {
+        Artifact jar = resolveArtifact(new DefaultArtifact(pd.getGroupId(), pd.getArtifactId(), "jar", pd.getVersion()))
+                .getArtifact();
+        Artifact pom = resolveArtifact(new DefaultArtifact(pd.getGroupId(), pd.getArtifactId(), "pom", pd.getVersion()))
+                .getArtifact();
+        MavenProject pluginProject = projectBuilder
+                .build(pom.getFile(), newProjectBuildingRequest(true))
+                .getProject();
+        List<File> classPath = new ArrayList<>();
+        classPath.add(jar.getFile());
+        for (String artifact : pluginProject.getCompileClasspathElements()) {
+            classPath.add(new File(artifact));
+        }
+        return new ResolvedPlugin(pluginProject, classPath);
+    }
+
+    /**
+     * Determines if the Java class of this Mojo implements <code>MavenReport</code>.
+     *
+     * @param md Mojo descriptor
+     * @param hierarchy the class hierarchy of the plugin
+     * @return Whether or not this goal should be used as a report.
+     */
+    private boolean isReport(MojoDescriptor md, ClassHierarchy hierarchy) {
+        try {
+            return hierarchy.isAssignableTo(md.getImplementation(), MavenReport.class.getName());
+        } catch (ClassNotFoundException | IOException e) {
             getLog().warn("Couldn't identify if this goal is a report goal: " + e.getMessage());
             return false;
         }
     }
 
     /**
-     * Gets the effective string to use for the plugin/mojo/parameter description.
+     * Gets the effective string to use for the plugin/mojo/parameter description. The descriptions are converted to
+     * plain text only once, as the same descriptions are shared by many goals and plugins.
      *
      * @param description The description of the element, may be <code>null</code>.
      * @return The effective description string, never <code>null</code>.
      */
-    private static String toDescription(String description) {
+    private String toDescription(String description) {
         if (description != null && !description.isEmpty()) {
-            return new HtmlToPlainTextConverter().convert(description);
+            String text = plainTexts.get(description);
+            if (text != null) {
+                plainTextHits.incrementAndGet();
+                return text;
+            }
+            plainTextMisses.incrementAndGet();
+            text = new HtmlToPlainTextConverter().convert(description);
+            plainTexts.put(description, text);
+            return text;
         }
 
         return "(no description available)";
     }
 
+    /**
+     * Writes a description as JSON.
+     */
+    private interface JsonDescription {
+        void writeTo(JsonStreamWriter json) throws IOException, MojoExecutionException, MojoFailureException;
+    }
+
     /**
      * Class to wrap Plugin information.
      */
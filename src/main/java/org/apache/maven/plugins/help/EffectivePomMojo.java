@@ -20,11 +20,25 @@ package org.apache.maven.plugins.help;
 
 import javax.inject.Inject;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.maven.model.InputLocation;
 import org.apache.maven.model.InputSource;
@@ -34,16 +48,22 @@ import org.apache.maven.model.io.xpp3.MavenXpp3WriterEx;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecution.Source;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.shared.utils.logging.MessageUtils;
 import org.codehaus.plexus.util.StringUtils;
-import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
-import org.codehaus.plexus.util.xml.XMLWriter;
-import org.codehaus.plexus.util.xml.XmlWriterUtil;
 import org.eclipse.aether.RepositorySystem;
+import org.jdom2.Comment;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.support.AbstractXMLOutputProcessor;
+import org.jdom2.output.support.FormatStack;
+import org.jdom2.util.NamespaceStack;
 
 /**
  * Displays the effective POM as an XML for this build, with the active profiles factored in, or a specified artifact.
@@ -53,6 +73,9 @@ import org.eclipse.aether.RepositorySystem;
  */
 @Mojo(name = "effective-pom", aggregator = true)
 public class EffectivePomMojo extends AbstractEffectiveMojo {
+    /** The comment before each effective POM, followed by the id of its project. */
+    private static final String EFFECTIVE_POM_COMMENT = "Effective POM for project";
+
     // ----------------------------------------------------------------------
     // Mojo parameters
     // ----------------------------------------------------------------------
@@ -89,6 +112,42 @@ public class EffectivePomMojo extends AbstractEffectiveMojo {
     @Parameter(property = "verbose", defaultValue = "false")
     private boolean verbose = false;
 
+    /**
+     * The maximum number of threads used to serialize and format the effective POMs of the projects, which are
+     * written in the order of the reactor anyway. Defaults to the degree of concurrency of the build, given with
+     * <code>-T</code>.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Optional directory to write the effective POM of each project to its own file, named
+     * <code>groupId/artifactId.xml</code>, instead of writing all the effective POMs in a single document. The files
+     * whose content did not change are not rewritten, so that only the files of the modules whose effective POM
+     * changed are touched. When the effective POMs of the whole reactor are written, the files written before for
+     * the projects which are no longer part of it are deleted.
+     * <br>
+     * <b>Note</b>: Could be a relative path.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "outputDirectory")
+    private File outputDirectory;
+
+    /**
+     * Writes a manifest with a SHA-256 fingerprint of the effective POM of each project, one
+     * <code>sha256  groupId:artifactId:packaging:version</code> line per project, instead of the effective POMs.
+     * The fingerprint is computed on the effective model as serialized by Maven, with sorted properties, without
+     * formatting, comments or input locations, so that it can be used as a build cache key. Like the effective POM,
+     * it depends on the absolute paths of the project, i.e. of its build directories.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "fingerprint", defaultValue = "false")
+    private boolean fingerprint;
+
     @Inject
     public EffectivePomMojo(ProjectBuilder projectBuilder, RepositorySystem repositorySystem) {
         super(projectBuilder, repositorySystem);
@@ -100,45 +159,47 @@ public class EffectivePomMojo extends AbstractEffectiveMojo {
 
     /** {@inheritDoc} */
     @Override
-    public void execute() throws MojoExecutionException {
+    public void execute() throws MojoExecutionException, MojoFailureException {
         if (artifact != null && !artifact.isEmpty()) {
             project = getMavenProject(artifact);
             projects = Collections.singletonList(project);
         }
 
-        StringWriter w = new StringWriter();
-        String encoding = output != null ? project.getModel().getModelEncoding() : System.getProperty("file.encoding");
-        XMLWriter writer = new PrettyPrintXMLWriter(
-                w, StringUtils.repeat(" ", XmlWriterUtil.DEFAULT_INDENTATION_SIZE), encoding, null);
-
-        writeHeader(writer);
+        if (fingerprint) {
+            writeFingerprints();
+            return;
+        }
 
-        if (shouldWriteAllEffectivePOMsInReactor()) {
-            // outer root element
-            writer.startElement("projects");
-            for (MavenProject subProject : projects) {
-                writeEffectivePom(subProject, writer);
+        if (outputDirectory != null) {
+            if (output != null) {
+                getLog().warn("Both 'output' and 'outputDirectory' are specified, ignoring 'output'.");
             }
-            writer.endElement();
-        } else {
-            writeEffectivePom(project, writer);
+            writeEffectivePomFiles();
+            return;
         }
 
-        String effectivePom = prettyFormat(w.toString(), encoding, false);
-        if (verbose) {
-            // tweak location tracking comment, that are put on a separate line by pretty print
-            effectivePom = effectivePom.replaceAll("(?m)>\\s+<!--}", ">  <!-- ");
-        }
+        Format format =
+                newFormat(output != null ? project.getModel().getModelEncoding() : System.getProperty("file.encoding"));
 
         if (output != null) {
-            try {
-                writeXmlFile(output, effectivePom);
+            // each effective POM is written as soon as it is formatted, without keeping the whole document in memory
+            output.getParentFile().mkdirs();
+            try (Writer out = Files.newBufferedWriter(output.toPath())) {
+                writeEffectivePoms(out, format);
             } catch (IOException e) {
                 throw new MojoExecutionException("Cannot write effective-POM to output: " + output, e);
             }
 
             getLog().info("Effective-POM written to: " + output);
         } else {
+            StringWriter w = new StringWriter();
+            try {
+                writeEffectivePoms(w, format);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write effective-POM.", e);
+            }
+            String effectivePom = w.toString();
+
             if (MessageUtils.isColorEnabled()) {
                 // add color to comments
                 String comment = MessageUtils.buffer().project("<!--.-->").build();
@@ -170,14 +231,315 @@ public class EffectivePomMojo extends AbstractEffectiveMojo {
     // Private methods
     // ----------------------------------------------------------------------
 
+    /**
+     * Writes the pretty formatted effective POMs of the current build in a single pass: the XML declaration, the
+     * header comments and the <code>projects</code> element are written as JDOM would write them, and each model is
+     * parsed and formatted on its own, at its depth in the document.
+     *
+     * @param out the writer for the whole document, not null.
+     * @param format the pretty format of the whole document, not null.
+     * @throws MojoExecutionException if any
+     * @throws IOException if any
+     */
+    private void writeEffectivePoms(Writer out, Format format)
+            throws MojoExecutionException, MojoFailureException, IOException {
+        EffectivePomOutputProcessor processor = new EffectivePomOutputProcessor();
+        FormatStack fstack = new FormatStack(format);
+
+        writeDocumentHeader(out, fstack, processor);
+
+        if (shouldWriteAllEffectivePOMsInReactor()) {
+            // outer root element
+            out.write(fstack.getPadBetween());
+            out.write("<projects>");
+            fstack.push();
+            // the effective POMs are formatted concurrently, but written in the order of the reactor
+            ThreadLocal<SAXBuilder> builders = ThreadLocal.withInitial(AbstractEffectiveMojo::newSAXBuilder);
+            runConcurrently(
+                    projects,
+                    threads > 0 ? threads : session.getRequest().getDegreeOfConcurrency(),
+                    subProject -> formatEffectivePom(subProject, format, processor, builders.get()),
+                    effectivePom -> {
+                        try {
+                            out.write(effectivePom);
+                        } catch (IOException e) {
+                            throw new MojoExecutionException("Cannot write effective-POM.", e);
+                        }
+                    });
+            out.write(fstack.getPadLast());
+            fstack.pop();
+            out.write("</projects>");
+        } else {
+            writeEffectivePom(project, out, fstack, processor, newSAXBuilder());
+        }
+
+        out.write(fstack.getLineSeparator());
+    }
+
+    /**
+     * Writes the fingerprint manifest of the effective POMs to the <code>output</code> file or to the console.
+     *
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void writeFingerprints() throws MojoExecutionException, MojoFailureException {
+        StringBuilder manifest = new StringBuilder();
+        runConcurrently(
+                shouldWriteAllEffectivePOMsInReactor() ? projects : Collections.singletonList(project),
+                threads > 0 ? threads : session.getRequest().getDegreeOfConcurrency(),
+                subProject -> fingerprint(subProject) + "  " + subProject.getId(),
+                line -> manifest.append(line).append(LS));
+
+        if (output != null) {
+            try {
+                writeFile(output, manifest);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write effective-POM fingerprints to output: " + output, e);
+            }
+
+            getLog().info("Effective-POM fingerprints written to: " + output);
+        } else {
+            getLog().info(LS + "Effective-POM fingerprints:" + LS + LS + manifest);
+        }
+    }
+
+    /**
+     * @param project the project of the current build, not null.
+     * @return the hexadecimal SHA-256 digest of the effective POM, serialized without any formatting.
+     * @throws MojoExecutionException if any
+     */
+    private static String fingerprint(MavenProject project) throws MojoExecutionException {
+        Model pom = project.getModel();
+        cleanModel(pom);
+
+        MessageDigest digest = newSha256Digest();
+        // the serialized model is only digested, never kept in memory
+        OutputStream digestStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+                digest.update((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                digest.update(b, off, len);
+            }
+        };
+        try (Writer writer = new OutputStreamWriter(digestStream, StandardCharsets.UTF_8)) {
+            new MavenXpp3Writer().write(writer, pom);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot serialize POM to XML.", e);
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Writes the effective POM of each project to its own file in the <code>outputDirectory</code>, unless the file
+     * already has the same content.
+     *
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any
+     */
+    private void writeEffectivePomFiles() throws MojoExecutionException, MojoFailureException {
+        EffectivePomOutputProcessor processor = new EffectivePomOutputProcessor();
+        ThreadLocal<SAXBuilder> builders = ThreadLocal.withInitial(AbstractEffectiveMojo::newSAXBuilder);
+        boolean reactor = shouldWriteAllEffectivePOMsInReactor();
+        List<Boolean> written = runConcurrently(
+                reactor ? projects : Collections.singletonList(project),
+                threads > 0 ? threads : session.getRequest().getDegreeOfConcurrency(),
+                subProject -> writeEffectivePomFile(subProject, processor, builders.get()));
+        // the files of the other projects can only be told apart from stale ones when the whole reactor is written
+        int deletedCount = reactor ? deleteStaleEffectivePomFiles() : 0;
+
+        int writtenCount = Collections.frequency(written, Boolean.TRUE);
+        getLog().info("Effective-POMs written to: " + outputDirectory + " (" + writtenCount + " written, "
+                + (written.size() - writtenCount) + " unchanged, " + deletedCount + " deleted)");
+    }
+
+    /**
+     * Deletes the effective POM files written by a previous run for the projects which are no longer part of the
+     * reactor. Only the <code>groupId/artifactId.xml</code> files with the comment of an effective POM are deleted,
+     * not the other files of the <code>outputDirectory</code>.
+     *
+     * @return the number of deleted files.
+     * @throws MojoExecutionException if the files can not be listed or deleted.
+     */
+    private int deleteStaleEffectivePomFiles() throws MojoExecutionException {
+        Path directory = outputDirectory.toPath();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        Set<Path> current = projects.stream().map(this::getEffectivePomFile).collect(Collectors.toSet());
+        List<Path> stale;
+        try (Stream<Path> files = Files.find(
+                directory,
+                2,
+                (file, attributes) -> attributes.isRegularFile()
+                        && directory.relativize(file).getNameCount() == 2
+                        && file.getFileName().toString().endsWith(".xml")
+                        && !current.contains(file))) {
+            stale = files.collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot list the effective-POMs in: " + outputDirectory, e);
+        }
+
+        int deleted = 0;
+        for (Path file : stale) {
+            try {
+                // the marker is ASCII, whatever the encoding of the effective POM
+                String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                if (content.contains(EFFECTIVE_POM_COMMENT)) {
+                    Files.delete(file);
+                    getLog().debug("Deleted the stale effective-POM: " + file);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot delete the stale effective-POM: " + file, e);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @param project the project, not null.
+     * @return the file of the effective POM of the project in the <code>outputDirectory</code>.
+     */
+    private Path getEffectivePomFile(MavenProject project) {
+        return outputDirectory.toPath().resolve(project.getGroupId()).resolve(project.getArtifactId() + ".xml");
+    }
+
+    /**
+     * @param project the project of the current build, not null.
+     * @param processor the processor formatting the effective pom, not null.
+     * @param builder the builder to parse the effective pom, not null.
+     * @return <code>true</code> if the file was written, <code>false</code> if its content did not change.
+     * @throws MojoExecutionException if any
+     */
+    private boolean writeEffectivePomFile(
+            MavenProject project, EffectivePomOutputProcessor processor, SAXBuilder builder)
+            throws MojoExecutionException {
+        FormatStack fstack = new FormatStack(newFormat(project.getModel().getModelEncoding()));
+        StringWriter w = new StringWriter();
+        try {
+            writeDocumentHeader(w, fstack, processor);
+            writeEffectivePom(project, w, fstack, processor, builder);
+            w.write(fstack.getLineSeparator());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write effective-POM.", e);
+        }
+        byte[] content = w.toString().getBytes(StandardCharsets.UTF_8);
+
+        Path file = getEffectivePomFile(project);
+        try {
+            if (Files.isRegularFile(file)
+                    && Files.size(file) == content.length
+                    && Arrays.equals(content, Files.readAllBytes(file))) {
+                getLog().debug("Effective-POM of " + project.getId() + " unchanged in: " + file);
+                return false;
+            }
+
+            Files.createDirectories(file.getParent());
+            Files.write(file, content);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write effective-POM to output: " + file, e);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return a new SHA-256 message digest.
+     */
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every implementation of the Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param encoding the encoding of the document, could be null.
+     * @return the pretty format of an effective POM document.
+     */
+    private static Format newFormat(String encoding) {
+        Format format = Format.getPrettyFormat();
+        if (encoding != null) {
+            format.setEncoding(encoding);
+        }
+        format.setLineSeparator(System.lineSeparator());
+        return format;
+    }
+
+    /**
+     * Writes the XML declaration and the header comments, as JDOM would write them.
+     *
+     * @param out not null
+     * @param fstack the format of the document, not null.
+     * @param processor not null
+     * @throws IOException if any
+     */
+    private static void writeDocumentHeader(Writer out, FormatStack fstack, EffectivePomOutputProcessor processor)
+            throws IOException {
+        processor.writeDeclaration(out, fstack);
+
+        String padding = "";
+        for (String comment : getHeaderComments()) {
+            out.write(padding);
+            processor.writeComment(out, fstack, new Comment(comment));
+            padding = fstack.getPadBetween();
+        }
+    }
+
+    /**
+     * @param project the project of the current build, not null.
+     * @param format the pretty format of the whole document, not null.
+     * @param processor the processor formatting the effective pom, not null.
+     * @param builder the builder to parse the effective pom, not null.
+     * @return the formatted effective pom, to be written in the <code>projects</code> element.
+     * @throws MojoExecutionException if any
+     */
+    private String formatEffectivePom(
+            MavenProject project, Format format, EffectivePomOutputProcessor processor, SAXBuilder builder)
+            throws MojoExecutionException {
+        FormatStack fstack = new FormatStack(format);
+        fstack.push();
+
+        StringWriter w = new StringWriter();
+        try {
+            writeEffectivePom(project, w, fstack, processor, builder);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write effective-POM.", e);
+        }
+
+        return w.toString();
+    }
+
     /**
      * Method for writing the effective pom informations of the current build.
      *
      * @param project the project of the current build, not null.
-     * @param writer the XML writer , not null, not null.
+     * @param out the writer, not null.
+     * @param fstack the format at the depth of the effective pom in the document, not null.
+     * @param processor the processor formatting the effective pom, not null.
+     * @param builder the builder to parse the effective pom, not null.
      * @throws MojoExecutionException if any
+     * @throws IOException if any
      */
-    private void writeEffectivePom(MavenProject project, XMLWriter writer) throws MojoExecutionException {
+    private void writeEffectivePom(
+            MavenProject project,
+            Writer out,
+            FormatStack fstack,
+            EffectivePomOutputProcessor processor,
+            SAXBuilder builder)
+            throws MojoExecutionException, IOException {
         Model pom = project.getModel();
         cleanModel(pom);
 
@@ -194,12 +556,27 @@ public class EffectivePomMojo extends AbstractEffectiveMojo {
             throw new MojoExecutionException("Cannot serialize POM to XML.", e);
         }
 
-        // This removes the XML declaration written by MavenXpp3Writer
-        String effectivePom = prettyFormat(sWriter.toString(), null, true);
+        Element effectivePom;
+        try {
+            effectivePom = builder.build(new StringReader(sWriter.toString())).detachRootElement();
+        } catch (JDOMException e) {
+            throw new MojoExecutionException("Cannot parse POM serialized to XML.", e);
+        }
 
-        writeComment(writer, "Effective POM for project '" + project.getId() + "'");
+        for (String comment : getComments(EFFECTIVE_POM_COMMENT + " '" + project.getId() + "'")) {
+            out.write(fstack.getPadBetween());
+            processor.writeComment(out, fstack, new Comment(comment));
+        }
 
-        writer.writeMarkup(effectivePom);
+        out.write(fstack.getPadBetween());
+        if (verbose) {
+            StringWriter w = new StringWriter();
+            processor.writeElement(w, fstack, effectivePom);
+            // tweak location tracking comment, that are put on a separate line by pretty print
+            out.write(w.toString().replaceAll("(?m)>\\s+<!--}", ">  <!-- "));
+        } else {
+            processor.writeElement(out, fstack, effectivePom);
+        }
     }
 
     /**
@@ -213,6 +590,23 @@ public class EffectivePomMojo extends AbstractEffectiveMojo {
         pom.setProperties(properties);
     }
 
+    /**
+     * Gives access to the pretty printing of JDOM elements at any depth.
+     */
+    private static class EffectivePomOutputProcessor extends AbstractXMLOutputProcessor {
+        void writeDeclaration(Writer out, FormatStack fstack) throws IOException {
+            printDeclaration(out, fstack);
+        }
+
+        void writeElement(Writer out, FormatStack fstack, Element element) throws IOException {
+            printElement(out, fstack, new NamespaceStack(), element);
+        }
+
+        void writeComment(Writer out, FormatStack fstack, Comment comment) throws IOException {
+            printComment(out, fstack, comment);
+        }
+    }
+
     private static class InputLocationStringFormatter extends InputLocation.StringFormatter {
         @Override
         public String toString(InputLocation location) {
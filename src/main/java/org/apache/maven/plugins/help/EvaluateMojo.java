@@ -20,25 +20,55 @@ package org.apache.maven.plugins.help;
 
 import javax.inject.Inject;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TreeMap;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
 import com.thoughtworks.xstream.converters.collections.PropertiesConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.json.AbstractJsonWriter;
+import com.thoughtworks.xstream.io.json.JsonWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+import com.thoughtworks.xstream.mapper.MapperWrapper;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.lifecycle.internal.MojoDescriptorCreator;
-import org.apache.maven.model.Dependency;
+import org.apache.maven.model.InputLocation;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.plugin.MojoExecution;
@@ -53,12 +83,11 @@ import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
 import org.codehaus.plexus.components.interactivity.InputHandler;
 import org.codehaus.plexus.util.StringUtils;
-import org.eclipse.aether.RepositoryException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.RepositorySystem;
-import org.eclipse.aether.artifact.Artifact;
-import org.eclipse.aether.artifact.DefaultArtifact;
 
 /**
  * Evaluates Maven expressions given by the user in an interactive mode.
@@ -69,6 +98,13 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 @Mojo(name = "evaluate", requiresProject = false)
 public class EvaluateMojo extends AbstractHelpMojo {
 
+    /** The time given to a client of the server to send its token, in milliseconds */
+    private static final int TOKEN_TIMEOUT = 10_000;
+
+    /** JSON format without line breaks, for the answers of the server */
+    private static final JsonWriter.Format SINGLE_LINE_JSON =
+            new JsonWriter.Format(new char[0], new char[0], JsonWriter.Format.COMPACT_EMPTY_ELEMENT);
+
     // ----------------------------------------------------------------------
     // Mojo parameters
     // ----------------------------------------------------------------------
@@ -76,7 +112,7 @@ public class EvaluateMojo extends AbstractHelpMojo {
     // we need to hide the 'output' defined in AbstractHelpMojo to have a correct "since".
     /**
      * Optional parameter to write the output of this help in a given file, instead of writing to the console.
-     * This parameter will be ignored if no <code>expression</code> is specified.
+     * This parameter will be ignored if neither <code>expression</code> nor <code>expressions</code> is specified.
      * <br/>
      * <b>Note</b>: Could be a relative path.
      *
@@ -117,6 +153,98 @@ public class EvaluateMojo extends AbstractHelpMojo {
     @Parameter(property = "expression")
     private String expression;
 
+    /**
+     * A comma separated list of expressions to evaluate in a single invocation, against the same evaluator, instead
+     * of prompting or evaluating a single <code>expression</code>. Note that these <i>must not</i> include the
+     * surrounding ${...}.
+     * <br/>
+     * The result is written as one <code>expression=value</code> line per expression, in the given order. Backslashes,
+     * line feeds and carriage returns in values are escaped as <code>\\</code>, <code>\n</code> and <code>\r</code>,
+     * so that each expression always takes a single line, and the value is empty for <code>null</code> objects or
+     * invalid expressions:
+     *
+     * <pre>
+     * mvn help:evaluate -Dexpressions=project.version,project.build.finalName -q -DforceStdout
+     * project.version=1.0
+     * project.build.finalName=test-1.0
+     * </pre>
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "expressions")
+    private List<String> expressions;
+
+    /**
+     * The format of the result: <code>xml</code> writes primitive values as is and other objects as XML, while
+     * <code>json</code> writes any result as JSON, i.e. <code>"1.0"</code> for <code>project.version</code>. With
+     * <code>expressions</code>, the JSON result is an object with one member per expression.
+     * <br/>
+     * <b>Note</b>: When an <code>output</code> file is given, the result is streamed to that file without being kept
+     * in memory, which is recommended for large objects like <code>project.artifacts</code>.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "outputFormat", defaultValue = "xml")
+    private String outputFormat;
+
+    /**
+     * Evaluates the <code>expression</code> or <code>expressions</code> for each project of the reactor, instead of
+     * only the current project, and writes one result per module, identified by <code>groupId:artifactId</code>:
+     *
+     * <pre>
+     * mvn help:evaluate -Daggregate -Dexpression=project.version -q -DforceStdout
+     * org.apache.maven.its.help:parent=1.0
+     * org.apache.maven.its.help:module=1.0
+     * </pre>
+     *
+     * With <code>expressions</code>, the results of each module are written in a <code>[groupId:artifactId]</code>
+     * section. With the <code>json</code> output format, the result is an object with one member per module.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "aggregate", defaultValue = "false")
+    private boolean aggregate;
+
+    /**
+     * Instead of prompting, listens on this port of the loopback interface for Maven expressions, i.e.
+     * <code>${project.version}</code>, sent one per line, and answers each of them with a single line. The project is
+     * built and the evaluator created only once, so that IDE integrations or shell prompts get their answers in
+     * milliseconds. Multi-line results are escaped like with <code>expressions</code>, or written as single line JSON
+     * with the <code>json</code> output format, and invalid expressions are answered with an empty line.
+     * <br/>
+     * Clients are served one after the other: <code>0</code> closes the connection and <code>shutdown</code> stops
+     * the server. Use <code>0</code> to listen on any free port, which is logged when the server starts:
+     *
+     * <pre>
+     * mvn help:evaluate -DserverPort=0
+     * </pre>
+     *
+     * As any local user could connect to the port and evaluate sensitive expressions like
+     * <code>${settings.servers}</code>, a random token is written to the <code>serverTokenFile</code>, which only
+     * its owner can read, and each client must send it as its first line. Clients sending another token are
+     * disconnected without being answered.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "serverPort")
+    private Integer serverPort;
+
+    /**
+     * The file where the token expected from the clients of the server is written when it starts, readable and
+     * writable only by its owner, and deleted when the server stops. Defaults to a new file in the temporary
+     * directory, which is logged when the server starts.
+     *
+     * @since 3.5.2
+     */
+    @Parameter(property = "serverTokenFile")
+    private File serverTokenFile;
+
+    /**
+     * This is the list of projects currently slated to be built by Maven.
+     */
+    @Parameter(defaultValue = "${reactorProjects}", required = true, readonly = true)
+    private List<MavenProject> reactorProjects;
+
     /**
      * The system settings for Maven.
      */
@@ -130,9 +258,15 @@ public class EvaluateMojo extends AbstractHelpMojo {
     /** lazy loading evaluator variable */
     private PluginParameterExpressionEvaluator evaluator;
 
+    /** lazy loading mojo execution variable, used to create the evaluators */
+    private MojoExecution mojoExecution;
+
     /** lazy loading xstream variable */
     private XStream xstream;
 
+    /** lazy loading xstream variable used to write JSON */
+    private XStream jsonXStream;
+
     // ----------------------------------------------------------------------
     // Mojo components
     // ----------------------------------------------------------------------
@@ -165,7 +299,7 @@ public class EvaluateMojo extends AbstractHelpMojo {
     /** {@inheritDoc} */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        if (expression == null && !settings.isInteractiveMode()) {
+        if (serverPort == null && expression == null && !hasExpressions() && !settings.isInteractiveMode()) {
 
             getLog().error("Maven is configured to NOT interact with the user for input. "
                     + "This Mojo requires that 'interactiveMode' in your settings file is flag to 'true'.");
@@ -178,7 +312,25 @@ public class EvaluateMojo extends AbstractHelpMojo {
             project = getMavenProject(artifact);
         }
 
-        if (expression == null) {
+        if (hasExpressions() && expression != null) {
+            getLog().warn("Both 'expression' and 'expressions' are specified, ignoring 'expression'.");
+        }
+
+        if (serverPort != null) {
+            if (expression != null || hasExpressions()) {
+                getLog().warn("Listening for expressions on port " + serverPort
+                        + ", ignoring 'expression' and 'expressions'.");
+            }
+            serve(serverPort);
+        } else if (aggregate) {
+            if (project != reactorProjects.get(0)) {
+                getLog().debug("Expressions already evaluated for all the projects of the reactor, skipping.");
+                return;
+            }
+            handleAggregateResponses(output);
+        } else if (hasExpressions()) {
+            handleResponses(expressions, output);
+        } else if (expression == null) {
             if (output != null) {
                 getLog().warn("When prompting for input, the result will be written to the console, "
                         + "ignoring 'output'.");
@@ -209,12 +361,36 @@ public class EvaluateMojo extends AbstractHelpMojo {
 
     /**
      * Validate Mojo parameters.
+     *
+     * @throws MojoExecutionException if the <code>outputFormat</code> is unknown.
      */
-    private void validateParameters() {
+    private void validateParameters() throws MojoExecutionException {
         if (artifact == null) {
             // using project if found or super-pom
             getLog().info("No artifact parameter specified, using '" + project.getId() + "' as project.");
         }
+
+        if (outputFormat != null && !"xml".equals(outputFormat) && !"json".equals(outputFormat)) {
+            throw new MojoExecutionException(
+                    "The outputFormat parameter '" + outputFormat + "' should be either 'xml' or 'json'.");
+        }
+
+        if (aggregate) {
+            if (expression == null && !hasExpressions()) {
+                throw new MojoExecutionException(
+                        "The aggregate mode requires the 'expression' or 'expressions' parameter.");
+            }
+            if (artifact != null && !artifact.isEmpty()) {
+                throw new MojoExecutionException("The 'artifact' parameter can not be used in aggregate mode.");
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if at least one expression was given with the <code>expressions</code> parameter.
+     */
+    private boolean hasExpressions() {
+        return expressions != null && !expressions.isEmpty();
     }
 
     /**
@@ -223,25 +399,33 @@ public class EvaluateMojo extends AbstractHelpMojo {
      */
     private PluginParameterExpressionEvaluator getEvaluator() throws MojoFailureException {
         if (evaluator == null) {
+            evaluator = newEvaluator(project);
+        }
+
+        return evaluator;
+    }
+
+    /**
+     * @param evaluatedProject the project against which the expressions are evaluated.
+     * @return a new evaluator for the given project.
+     * @throws MojoFailureException if the mojo descriptor could not be found.
+     */
+    private PluginParameterExpressionEvaluator newEvaluator(MavenProject evaluatedProject) throws MojoFailureException {
+        if (mojoExecution == null) {
             MojoDescriptor mojoDescriptor;
             try {
                 mojoDescriptor = mojoDescriptorCreator.getMojoDescriptor("help:evaluate", session, project);
             } catch (Exception e) {
                 throw new MojoFailureException("Failure while evaluating.", e);
             }
-            MojoExecution mojoExecution = new MojoExecution(mojoDescriptor);
-
-            MavenProject currentProject = session.getCurrentProject();
-            // Maven 3: PluginParameterExpressionEvaluator gets the current project from the session:
-            // synchronize in case another thread wants to fetch the real current project in between
-            synchronized (session) {
-                session.setCurrentProject(project);
-                evaluator = new PluginParameterExpressionEvaluator(session, mojoExecution);
-                session.setCurrentProject(currentProject);
-            }
+            mojoExecution = new MojoExecution(mojoDescriptor);
         }
 
-        return evaluator;
+        // Maven 3: PluginParameterExpressionEvaluator gets the current project from the session:
+        // use a copy of the session instead of changing the current project of the shared one
+        MavenSession projectSession = session.clone();
+        projectSession.setCurrentProject(evaluatedProject);
+        return new PluginParameterExpressionEvaluator(projectSession, mojoExecution);
     }
 
     /**
@@ -251,104 +435,445 @@ public class EvaluateMojo extends AbstractHelpMojo {
      * @throws MojoFailureException if any reflection exceptions occur or missing components.
      */
     private void handleResponse(String expr, File output) throws MojoExecutionException, MojoFailureException {
-        StringBuilder response = new StringBuilder();
+        Object obj = evaluate(expr);
+        if (obj != null && expr.equals(obj.toString())) {
+            getLog().warn("The Maven expression was invalid. Please use a valid expression.");
+            return;
+        }
+
+        writeResponse(output, out -> writeValue(expr, obj, out));
+    }
+
+    /**
+     * Answers the expressions sent to the given port of the loopback interface, until a client asks for a shutdown.
+     * Only the clients sending the token written to the <code>serverTokenFile</code> as their first line are answered.
+     *
+     * @param port the port to listen on, <code>0</code> for any free port.
+     * @throws MojoExecutionException if the server socket could not be opened or the token file written.
+     * @throws MojoFailureException if any reflection exceptions occur or missing components.
+     */
+    private void serve(int port) throws MojoExecutionException, MojoFailureException {
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            Path tokenFile = serverTokenFile != null
+                    ? serverTokenFile.toPath().toAbsolutePath()
+                    : Files.createTempFile("help-evaluate-", ".token");
+            byte[] token = writeToken(tokenFile);
+            try {
+                getLog().info("Listening for Maven expressions on "
+                        + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort()
+                        + ", send the token of " + tokenFile
+                        + " first, then 0 to close the connection or shutdown to stop.");
+
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = serverSocket.accept();
+                            BufferedReader in = new BufferedReader(
+                                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                            Writer out = new BufferedWriter(
+                                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                        if (isAuthenticated(socket, in, token)) {
+                            running = serveClient(in, out);
+                        } else {
+                            getLog().warn("Rejected a client which did not send the token of " + tokenFile);
+                        }
+                    } catch (IOException e) {
+                        getLog().warn("Connection to client lost: " + e.getMessage());
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(tokenFile);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to listen for Maven expressions on port " + port, e);
+        }
+    }
 
-        Object obj;
+    /**
+     * Writes a new random token to the given file, which only its owner can read and write. The token is first written
+     * to a temporary file of the same directory, then moved, so that clients never read a partial token.
+     *
+     * @param tokenFile the file to write the token to, replaced if it exists.
+     * @return the token, as the bytes of its line.
+     * @throws IOException if the file could not be written.
+     */
+    private static byte[] writeToken(Path tokenFile) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        StringBuilder token = new StringBuilder(random.length * 2);
+        for (byte b : random) {
+            token.append(String.format("%02x", b));
+        }
+
+        Path directory = tokenFile.getParent();
+        Files.createDirectories(directory);
+        Path tempFile;
+        if (Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            tempFile = Files.createTempFile(
+                    directory,
+                    "help-evaluate-",
+                    ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            tempFile = Files.createTempFile(directory, "help-evaluate-", ".tmp");
+            File file = tempFile.toFile();
+            boolean ownerOnly = file.setReadable(false, false)
+                    && file.setReadable(true, true)
+                    && file.setWritable(false, false)
+                    && file.setWritable(true, true);
+            if (!ownerOnly) {
+                Files.delete(tempFile);
+                throw new IOException("Unable to restrict the access of " + tempFile + " to its owner");
+            }
+        }
+        try {
+            Files.write(tempFile, token.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, tokenFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return token.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param socket the connection to the client.
+     * @param in the lines sent by the client.
+     * @param token the expected token.
+     * @return <code>true</code> if the first line sent by the client is the token, in the given time.
+     * @throws IOException if the connection is lost.
+     */
+    private static boolean isAuthenticated(Socket socket, BufferedReader in, byte[] token) throws IOException {
+        // a silent client would block the other ones, as they are served one after the other
+        socket.setSoTimeout(TOKEN_TIMEOUT);
+        String line;
         try {
-            obj = getEvaluator().evaluate(expr);
+            line = in.readLine();
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+        socket.setSoTimeout(0);
+
+        // compared in a constant time, not to tell how much of the token was guessed
+        return line != null && MessageDigest.isEqual(token, line.trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param in the expressions sent by the client, one per line.
+     * @param out the answers to the client, one per line.
+     * @return <code>false</code> if the client asked for a shutdown of the server.
+     * @throws IOException if the connection is lost.
+     * @throws MojoFailureException if any reflection exceptions occur or missing components.
+     */
+    private boolean serveClient(BufferedReader in, Writer out) throws IOException, MojoFailureException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String expr = line.trim();
+            if ("0".equals(expr)) {
+                return true;
+            } else if ("shutdown".equals(expr)) {
+                return false;
+            }
+
+            try {
+                Object obj = expr.isEmpty() ? null : evaluate(expr);
+                if (obj != null && expr.equals(obj.toString())) {
+                    getLog().warn("The Maven expression '" + expr + "' was invalid. Please use a valid expression.");
+                } else if (isJson()) {
+                    writeJson(obj, out, SINGLE_LINE_JSON);
+                } else if (obj != null) {
+                    StringWriter value = new StringWriter();
+                    writeValue(expr, obj, value);
+                    out.write(escape(value.toString()));
+                }
+            } catch (MojoExecutionException e) {
+                getLog().warn(e.getMessage() + " '" + expr + "': " + e.getCause());
+            } catch (RuntimeException e) {
+                // the server outlives a single expression, whatever its evaluation fails with
+                getLog().warn("Cannot evaluate the expression '" + expr + "': " + e);
+            }
+            // the protocol uses line feeds whatever the OS
+            out.write('\n');
+            out.flush();
+        }
+
+        return true;
+    }
+
+    /**
+     * Evaluates all the given expressions with the same evaluator and writes the results as
+     * <code>expression=value</code> lines, or as a JSON object.
+     *
+     * @param exprs the user expressions, without the surrounding ${...}.
+     * @param output the file where to write the result, or <code>null</code> to print in standard output.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any reflection exceptions occur or missing components.
+     */
+    private void handleResponses(List<String> exprs, File output) throws MojoExecutionException, MojoFailureException {
+        Map<String, Object> results = evaluateAll(exprs, getEvaluator());
+
+        writeResponse(output, out -> {
+            if (isJson()) {
+                writeJsonObject(results, new JsonStreamWriter(out));
+                out.write(LS);
+            } else {
+                writeLines(results, null, out);
+            }
+        });
+    }
+
+    /**
+     * Evaluates the <code>expression</code> or <code>expressions</code> for each project of the reactor, one after the
+     * other, and writes the results in the order of the reactor.
+     *
+     * @param output the file where to write the result, or <code>null</code> to print in standard output.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any reflection exceptions occur or missing components.
+     */
+    private void handleAggregateResponses(File output) throws MojoExecutionException, MojoFailureException {
+        List<String> exprs = hasExpressions() ? expressions : Collections.singletonList(expression);
+
+        // the evaluators share the unsynchronized cache of the introspected classes of plexus-utils, and each
+        // evaluation only takes microseconds: the projects are evaluated sequentially, each with its own session
+        Map<String, Map<String, Object>> resultsByModule = new LinkedHashMap<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            resultsByModule.put(
+                    reactorProject.getGroupId() + ":" + reactorProject.getArtifactId(),
+                    evaluateAll(exprs, newEvaluator(reactorProject)));
+        }
+
+        writeResponse(output, out -> {
+            if (hasExpressions()) {
+                writeModuleSections(resultsByModule, out);
+            } else {
+                // a single expression: one value per module
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (Map.Entry<String, Map<String, Object>> moduleResults : resultsByModule.entrySet()) {
+                    values.put(moduleResults.getKey(), moduleResults.getValue().get(expression.trim()));
+                }
+                if (isJson()) {
+                    writeJsonObject(values, new JsonStreamWriter(out));
+                    out.write(LS);
+                } else {
+                    writeLines(values, expression.trim(), out);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param exprs the user expressions, without the surrounding ${...}.
+     * @param projectEvaluator the evaluator to use.
+     * @return the evaluated objects by expression, in the given order, with <code>null</code> for invalid ones.
+     * @throws MojoExecutionException if any
+     */
+    private Map<String, Object> evaluateAll(List<String> exprs, ExpressionEvaluator projectEvaluator)
+            throws MojoExecutionException {
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String expr : exprs) {
+            expr = expr.trim();
+            if (expr.isEmpty()) {
+                continue;
+            }
+
+            String fullExpr = "${" + expr + "}";
+            Object obj = evaluate(projectEvaluator, fullExpr);
+            if (obj != null && fullExpr.equals(obj.toString())) {
+                getLog().warn("The Maven expression '" + expr + "' was invalid. Please use a valid expression.");
+                obj = null;
+            }
+            results.put(expr, obj);
+        }
+
+        return results;
+    }
+
+    /**
+     * Writes one <code>key=value</code> line per result, with the value escaped to fit on a single line.
+     *
+     * @param results the evaluated objects by expression or by module, not null.
+     * @param expr the expression evaluated for all the results, or <code>null</code> if the keys are expressions.
+     * @param out not null
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     */
+    private void writeLines(Map<String, Object> results, String expr, Writer out)
+            throws IOException, MojoExecutionException {
+        for (Map.Entry<String, Object> result : results.entrySet()) {
+            out.write(result.getKey());
+            out.write('=');
+            if (result.getValue() != null) {
+                StringWriter value = new StringWriter();
+                writeValue("${" + (expr != null ? expr : result.getKey()) + "}", result.getValue(), value);
+                out.write(escape(value.toString()));
+            }
+            out.write(LS);
+        }
+    }
+
+    /**
+     * Writes the results of each module in a <code>[groupId:artifactId]</code> section, or as a JSON object.
+     *
+     * @param resultsByModule the evaluated objects by expression, by module, not null.
+     * @param out not null
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     */
+    private void writeModuleSections(Map<String, Map<String, Object>> resultsByModule, Writer out)
+            throws IOException, MojoExecutionException {
+        if (isJson()) {
+            JsonStreamWriter json = new JsonStreamWriter(out).beginObject();
+            for (Map.Entry<String, Map<String, Object>> moduleResults : resultsByModule.entrySet()) {
+                writeJsonObject(moduleResults.getValue(), json.name(moduleResults.getKey()));
+            }
+            json.endObject();
+            out.write(LS);
+        } else {
+            String separator = "";
+            for (Map.Entry<String, Map<String, Object>> moduleResults : resultsByModule.entrySet()) {
+                out.write(separator);
+                out.write("[" + moduleResults.getKey() + "]" + LS);
+                writeLines(moduleResults.getValue(), null, out);
+                separator = LS;
+            }
+        }
+    }
+
+    /**
+     * Writes the results as a JSON object, with one member per expression or per module.
+     *
+     * @param results the evaluated objects by expression or by module, not null.
+     * @param json the JSON writer, positioned where the object is written, not null.
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     */
+    private void writeJsonObject(Map<String, Object> results, JsonStreamWriter json)
+            throws IOException, MojoExecutionException {
+        json.beginObject();
+        for (Map.Entry<String, Object> result : results.entrySet()) {
+            writeJson(result.getValue(), json.name(result.getKey()).rawValue());
+        }
+        json.endObject();
+    }
+
+    /**
+     * @param expr the user expression asked.
+     * @return the evaluated object, could be <code>null</code>.
+     * @throws MojoExecutionException if any
+     * @throws MojoFailureException if any reflection exceptions occur or missing components.
+     */
+    private Object evaluate(String expr) throws MojoExecutionException, MojoFailureException {
+        return evaluate(getEvaluator(), expr);
+    }
+
+    /**
+     * @param projectEvaluator the evaluator to use.
+     * @param expr the user expression asked.
+     * @return the evaluated object, could be <code>null</code>.
+     * @throws MojoExecutionException if any
+     */
+    private static Object evaluate(ExpressionEvaluator projectEvaluator, String expr) throws MojoExecutionException {
+        try {
+            return projectEvaluator.evaluate(expr);
         } catch (ExpressionEvaluationException e) {
             throw new MojoExecutionException("Error when evaluating the Maven expression", e);
         }
+    }
 
-        if (obj != null && expr.equals(obj.toString())) {
-            getLog().warn("The Maven expression was invalid. Please use a valid expression.");
-            return;
+    /**
+     * @param output the file where to write the result, or <code>null</code> to print in standard output.
+     * @param response writes the result, directly to the output file if any.
+     * @throws MojoExecutionException if any
+     */
+    private void writeResponse(File output, Response response) throws MojoExecutionException {
+        if (output != null) {
+            output.getParentFile().mkdirs();
+            try (Writer out = Files.newBufferedWriter(output.toPath())) {
+                response.writeTo(out);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write evaluation of expression to output: " + output, e);
+            }
+            getLog().info("Result of evaluation written to: " + output);
+        } else {
+            try {
+                if (getLog().isInfoEnabled()) {
+                    StringWriter out = new StringWriter();
+                    response.writeTo(out);
+                    getLog().info(LS + out);
+                } else {
+                    if (forceStdout) {
+                        Writer out = new OutputStreamWriter(System.out, Charset.defaultCharset());
+                        response.writeTo(out);
+                        out.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new MojoExecutionException("Cannot write evaluation of expression", e);
+            }
         }
+    }
 
+    /**
+     * @param expr the user expression asked.
+     * @param obj the evaluated object, could be <code>null</code>.
+     * @param out not null
+     * @throws IOException if any
+     * @throws MojoExecutionException if any
+     */
+    private void writeValue(String expr, Object obj, Writer out) throws IOException, MojoExecutionException {
+        if (isJson()) {
+            writeJson(obj, out);
+        }
         // handle null
-        if (obj == null) {
-            response.append("null object or invalid expression");
+        else if (obj == null) {
+            out.write("null object or invalid expression");
         }
         // handle primitives objects
         else if (obj instanceof String) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Boolean) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Byte) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Character) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Double) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Float) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Integer) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Long) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         } else if (obj instanceof Short) {
-            response.append(obj.toString());
+            out.write(obj.toString());
         }
         // handle specific objects
         else if (obj instanceof File) {
             File f = (File) obj;
-            response.append(f.getAbsolutePath());
+            out.write(f.getAbsolutePath());
         }
         // handle Maven pom object
         else if (obj instanceof MavenProject) {
             MavenProject projectAsked = (MavenProject) obj;
-            StringWriter sWriter = new StringWriter();
-            MavenXpp3Writer pomWriter = new MavenXpp3Writer();
-            try {
-                pomWriter.write(sWriter, projectAsked.getModel());
-            } catch (IOException e) {
-                throw new MojoExecutionException("Error when writing pom", e);
-            }
-
-            response.append(sWriter.toString());
+            new MavenXpp3Writer().write(out, projectAsked.getModel());
         }
         // handle Maven Settings object
         else if (obj instanceof Settings) {
             Settings settingsAsked = (Settings) obj;
-            StringWriter sWriter = new StringWriter();
-            SettingsXpp3Writer settingsWriter = new SettingsXpp3Writer();
-            try {
-                settingsWriter.write(sWriter, settingsAsked);
-            } catch (IOException e) {
-                throw new MojoExecutionException("Error when writing settings", e);
-            }
-
-            response.append(sWriter.toString());
+            new SettingsXpp3Writer().write(out, settingsAsked);
         } else {
             // others Maven objects
-            response.append(toXML(expr, obj));
-        }
-
-        if (output != null) {
-            try {
-                writeFile(output, response);
-            } catch (IOException e) {
-                throw new MojoExecutionException("Cannot write evaluation of expression to output: " + output, e);
-            }
-            getLog().info("Result of evaluation written to: " + output);
-        } else {
-            if (getLog().isInfoEnabled()) {
-                getLog().info(LS + response.toString());
-            } else {
-                if (forceStdout) {
-                    System.out.print(response.toString());
-                    System.out.flush();
-                }
-            }
+            toXML(expr, obj, out);
         }
     }
 
     /**
      * @param expr the user expression.
      * @param obj a not null.
-     * @return the XML for the given object.
+     * @param out the writer for the XML of the given object, not null.
+     * @throws MojoExecutionException if the object could not be serialized, i.e. because of inaccessible fields.
      */
-    private String toXML(String expr, Object obj) {
+    private void toXML(String expr, Object obj, Writer out) throws MojoExecutionException {
         XStream currentXStream = getXStream();
 
         // beautify list
@@ -368,142 +893,160 @@ public class EvaluateMojo extends AbstractHelpMojo {
             }
         }
 
-        return currentXStream.toXML(obj);
+        try {
+            currentXStream.toXML(obj, out);
+        } catch (XStreamException e) {
+            throw new MojoExecutionException("Cannot write evaluation of expression as XML", e);
+        }
     }
 
     /**
-     * @return lazy loading xstream object.
+     * Streams the given object as JSON. Files are written as their absolute path and Maven projects as their model.
+     *
+     * @param obj the evaluated object, could be <code>null</code>.
+     * @param out not null
+     * @throws IOException if any
+     * @throws MojoExecutionException if the object could not be serialized, i.e. because of circular references.
      */
-    private XStream getXStream() {
-        if (xstream == null) {
-            xstream = new XStream();
-            addAlias(xstream);
-
-            // handle Properties a la Maven
-            xstream.registerConverter(new PropertiesConverter() {
-                /** {@inheritDoc} */
-                @Override
-                public boolean canConvert(Class type) {
-                    return Properties.class == type;
-                }
+    private void writeJson(Object obj, Writer out) throws IOException, MojoExecutionException {
+        writeJson(obj, out, new JsonWriter.Format());
+    }
 
-                /** {@inheritDoc} */
-                @Override
-                public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context) {
-                    Properties properties = (Properties) source;
-                    Map<?, ?> map = new TreeMap<>(properties); // sort
-                    for (Map.Entry<?, ?> entry : map.entrySet()) {
-                        writer.startNode(entry.getKey().toString());
-                        writer.setValue(entry.getValue().toString());
-                        writer.endNode();
-                    }
-                }
-            });
+    /**
+     * @param obj the evaluated object, could be <code>null</code>.
+     * @param out not null
+     * @param format the JSON format, i.e. with or without line breaks.
+     * @throws IOException if any
+     * @throws MojoExecutionException if the object could not be serialized, i.e. because of circular references.
+     */
+    private void writeJson(Object obj, Writer out, JsonWriter.Format format)
+            throws IOException, MojoExecutionException {
+        Object value = obj;
+        if (obj instanceof File) {
+            value = ((File) obj).getAbsolutePath();
+        } else if (obj instanceof MavenProject) {
+            value = ((MavenProject) obj).getModel();
         }
 
-        return xstream;
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+
+        JsonWriter writer = new JsonWriter(out, AbstractJsonWriter.DROP_ROOT_MODE, format) {
+            /** {@inheritDoc} */
+            @Override
+            protected boolean isArray(Class clazz) {
+                // Properties are written as an object of keys and values
+                return !Properties.class.equals(clazz) && super.isArray(clazz);
+            }
+        };
+        try {
+            getJsonXStream().marshal(value, writer);
+        } catch (XStreamException e) {
+            throw new MojoExecutionException("Cannot write evaluation of expression as JSON", e);
+        }
+        writer.flush();
     }
 
     /**
-     * @param xstreamObject not null
+     * @return lazy loading xstream object.
      */
-    private void addAlias(XStream xstreamObject) {
-        try {
-            addAlias(xstreamObject, getArtifactFile("maven-model"), "org.apache.maven.model");
-            addAlias(xstreamObject, getArtifactFile("maven-settings"), "org.apache.maven.settings");
-        } catch (MojoExecutionException | RepositoryException e) {
-            if (getLog().isDebugEnabled()) {
-                getLog().debug(e.getMessage(), e);
-            }
+    private XStream getXStream() {
+        if (xstream == null) {
+            xstream = newXStream(false);
         }
 
-        // TODO need to handle specific Maven objects like DefaultArtifact?
+        return xstream;
     }
 
     /**
-     * @param xstreamObject not null
-     * @param jarFile not null
-     * @param packageFilter a package name to filter.
-     */
-    private void addAlias(XStream xstreamObject, File jarFile, String packageFilter) {
-        try (FileInputStream fis = new FileInputStream(jarFile);
-                JarInputStream jarStream = new JarInputStream(fis)) {
-            for (JarEntry jarEntry = jarStream.getNextJarEntry();
-                    jarEntry != null;
-                    jarEntry = jarStream.getNextJarEntry()) {
-                if (jarEntry.getName().toLowerCase(Locale.ENGLISH).endsWith(".class")) {
-                    String name =
-                            jarEntry.getName().substring(0, jarEntry.getName().indexOf("."));
-                    name = name.replace("/", "\\.");
-
-                    if (name.contains(packageFilter) && !name.contains("$")) {
-                        try {
-                            Class<?> clazz = Class.forName(name);
-                            String alias = StringUtils.lowercaseFirstLetter(clazz.getSimpleName());
-                            xstreamObject.alias(alias, clazz);
-                            if (!clazz.equals(Model.class)) {
-                                xstreamObject.omitField(clazz, "modelEncoding"); // unnecessary field
-                            }
-                        } catch (ClassNotFoundException e) {
-                            getLog().error(e);
-                        }
-                    }
-                }
-
-                jarStream.closeEntry();
-            }
-        } catch (IOException e) {
-            if (getLog().isDebugEnabled()) {
-                getLog().debug("IOException: " + e.getMessage(), e);
-            }
+     * @return lazy loading xstream object used to write JSON.
+     */
+    private XStream getJsonXStream() {
+        if (jsonXStream == null) {
+            // input locations refer back to their parent objects
+            jsonXStream = newXStream(true);
+            // JSON has no notion of references nor of class names
+            jsonXStream.setMode(XStream.NO_REFERENCES);
+            jsonXStream.aliasSystemAttribute(null, "class");
+            // write plugin configurations like in the POM, instead of their internal structure with back references
+            jsonXStream.registerConverter(new Xpp3DomConverter());
         }
+
+        return jsonXStream;
     }
 
     /**
-     * @return the <code>org.apache.maven: artifactId </code> artifact jar file for this current HelpPlugin pom.
-     * @throws MojoExecutionException if any
+     * @param omitLocations <code>true</code> to omit the input locations tracked by the Maven model.
+     * @return a new xstream object handling the Maven model and settings.
      */
-    private File getArtifactFile(String artifactId) throws MojoExecutionException, RepositoryException {
-        List<Dependency> dependencies = getHelpPluginPom().getDependencies();
-        for (Dependency dependency : dependencies) {
-            if ("org.apache.maven".equals(dependency.getGroupId())) {
-                if (artifactId.equals(dependency.getArtifactId())) {
-                    Artifact mavenArtifact = new DefaultArtifact(
-                            dependency.getGroupId(), dependency.getArtifactId(), "jar", dependency.getVersion());
+    private static XStream newXStream(boolean omitLocations) {
+        XStream newXStream = new XStream() {
+            /** {@inheritDoc} */
+            @Override
+            protected MapperWrapper wrapMapper(MapperWrapper next) {
+                return new MavenModelMapper(next, omitLocations);
+            }
+        };
+
+        // handle Properties a la Maven
+        newXStream.registerConverter(new PropertiesConverter() {
+            /** {@inheritDoc} */
+            @Override
+            public boolean canConvert(Class type) {
+                return Properties.class == type;
+            }
 
-                    return resolveArtifact(mavenArtifact).getArtifact().getFile();
+            /** {@inheritDoc} */
+            @Override
+            public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context) {
+                Properties properties = (Properties) source;
+                Map<?, ?> map = new TreeMap<>(properties); // sort
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writer.startNode(entry.getKey().toString());
+                    writer.setValue(entry.getValue().toString());
+                    writer.endNode();
                 }
             }
-        }
+        });
 
-        throw new MojoExecutionException("Unable to find the 'org.apache.maven:" + artifactId + "' artifact");
+        return newXStream;
     }
 
     /**
-     * @return the Maven POM for the current help plugin
-     * @throws MojoExecutionException if any
+     * @return <code>true</code> if the result should be written as JSON.
      */
-    private MavenProject getHelpPluginPom() throws MojoExecutionException {
-        String resource = "META-INF/maven/org.apache.maven.plugins/maven-help-plugin/pom.properties";
+    private boolean isJson() {
+        return "json".equals(outputFormat);
+    }
 
-        InputStream resourceAsStream = EvaluateMojo.class.getClassLoader().getResourceAsStream(resource);
-        if (resourceAsStream == null) {
-            throw new MojoExecutionException("The help plugin artifact was not found.");
-        }
-        Properties properties = new Properties();
-        try (InputStream is = resourceAsStream) {
-            properties.load(is);
-        } catch (IOException e) {
-            if (getLog().isDebugEnabled()) {
-                getLog().debug("IOException: " + e.getMessage(), e);
+    /**
+     * Escapes backslashes, line feeds and carriage returns so that the value fits on a single line.
+     *
+     * @param value not null
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
             }
         }
 
-        String artifactString = properties.getProperty("groupId", "unknown") + ":"
-                + properties.getProperty("artifactId", "unknown") + ":"
-                + properties.getProperty("version", "unknown");
-
-        return getMavenProject(artifactString);
+        return sb.toString();
     }
 
     /**
@@ -523,4 +1066,178 @@ public class EvaluateMojo extends AbstractHelpMojo {
             return name + "s";
         }
     }
+
+    /**
+     * Aliases the Maven model and settings classes by their simple name with a lowercase first letter, i.e.
+     * <code>dependency</code> for <code>org.apache.maven.model.Dependency</code>, and omits their unnecessary
+     * <code>modelEncoding</code> field. The alias of a class is computed when it is first serialized, so no scan of the
+     * Maven jars is needed.
+     */
+    private static class MavenModelMapper extends MapperWrapper {
+        // TODO need to handle specific Maven objects like DefaultArtifact?
+        private static final String[] PACKAGES = {"org.apache.maven.model.", "org.apache.maven.settings."};
+
+        /** the names of the fields tracking input locations, by model class, as XStream asks for every field */
+        private static final Map<Class<?>, Set<String>> LOCATION_FIELDS = new ConcurrentHashMap<>();
+
+        /** whether the input locations tracked by the model should be omitted */
+        private final boolean omitLocations;
+
+        MavenModelMapper(Mapper wrapped, boolean omitLocations) {
+            super(wrapped);
+            this.omitLocations = omitLocations;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String serializedClass(Class type) {
+            if (isMavenModel(type)) {
+                return StringUtils.lowercaseFirstLetter(type.getSimpleName());
+            }
+
+            return super.serializedClass(type);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean shouldSerializeMember(Class definedIn, String fieldName) {
+            if ("modelEncoding".equals(fieldName) && !Model.class.equals(definedIn) && isMavenModel(definedIn)) {
+                return false;
+            }
+            if (omitLocations && isMavenModel(definedIn) && isLocation(definedIn, fieldName)) {
+                return false;
+            }
+
+            return super.shouldSerializeMember(definedIn, fieldName);
+        }
+
+        /**
+         * @param definedIn not null
+         * @param fieldName not null
+         * @return <code>true</code> if the field tracks the input location of the model element.
+         */
+        private static boolean isLocation(Class<?> definedIn, String fieldName) {
+            return LOCATION_FIELDS
+                    .computeIfAbsent(definedIn, MavenModelMapper::getLocationFields)
+                    .contains(fieldName);
+        }
+
+        /**
+         * @param type not null
+         * @return the names of the fields declared by the type which track the input locations of the model element.
+         */
+        private static Set<String> getLocationFields(Class<?> type) {
+            Set<String> names = new HashSet<>();
+            for (Field field : type.getDeclaredFields()) {
+                if ("locations".equals(field.getName()) || InputLocation.class.equals(field.getType())) {
+                    names.add(field.getName());
+                }
+            }
+            return names;
+        }
+
+        /**
+         * @param type could be null
+         * @return <code>true</code> if the type is a top level class of the Maven model or settings.
+         */
+        private static boolean isMavenModel(Class<?> type) {
+            if (type == null || type.getName().indexOf('$') != -1) {
+                return false;
+            }
+
+            for (String packageName : PACKAGES) {
+                if (type.getName().startsWith(packageName)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Writes the result of an evaluation.
+     */
+    private interface Response {
+        void writeTo(Writer out) throws IOException, MojoExecutionException;
+    }
+
+    /**
+     * Writes a plugin configuration like it is written in the POM: one member per child element, or an array when
+     * several children have the same name.
+     * <br/>
+     * <b>Note</b>: This converter is one-way, it is only registered to write JSON and can not read a configuration.
+     */
+    private static class Xpp3DomConverter implements Converter {
+        /** {@inheritDoc} */
+        @Override
+        public boolean canConvert(Class type) {
+            return Xpp3Dom.class == type;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context) {
+            Xpp3Dom dom = (Xpp3Dom) source;
+            for (String attribute : dom.getAttributeNames()) {
+                writer.addAttribute(attribute, dom.getAttribute(attribute));
+            }
+
+            if (dom.getChildCount() == 0) {
+                if (dom.getValue() != null) {
+                    writer.setValue(dom.getValue());
+                }
+                return;
+            }
+
+            Map<String, List<Xpp3Dom>> childrenByName = new LinkedHashMap<>();
+            for (Xpp3Dom child : dom.getChildren()) {
+                childrenByName
+                        .computeIfAbsent(child.getName(), name -> new ArrayList<>())
+                        .add(child);
+            }
+            for (Map.Entry<String, List<Xpp3Dom>> children : childrenByName.entrySet()) {
+                if (children.getValue().size() == 1) {
+                    writer.startNode(children.getKey());
+                    marshal(children.getValue().get(0), writer, context);
+                    writer.endNode();
+                } else {
+                    startListNode(writer, children.getKey());
+                    for (Xpp3Dom child : children.getValue()) {
+                        writer.startNode(child.getName());
+                        marshal(child, writer, context);
+                        writer.endNode();
+                    }
+                    writer.endNode();
+                }
+            }
+        }
+
+        /**
+         * Starts a node holding several children with the same name, written as an array by the JSON writer.
+         *
+         * @param writer not null
+         * @param name the name of the children.
+         */
+        @SuppressWarnings("deprecation")
+        private static void startListNode(HierarchicalStreamWriter writer, String name) {
+            // the type of a node can only be given to the JSON writer through the extended writer of XStream 1.4,
+            // which the marshalling writers always are, until it is merged into HierarchicalStreamWriter in 1.5
+            if (writer instanceof com.thoughtworks.xstream.io.ExtendedHierarchicalStreamWriter) {
+                ((com.thoughtworks.xstream.io.ExtendedHierarchicalStreamWriter) writer).startNode(name, List.class);
+            } else {
+                writer.startNode(name);
+            }
+        }
+
+        /**
+         * Not supported, as this converter is only used to write JSON.
+         *
+         * @throws UnsupportedOperationException always.
+         */
+        @Override
+        public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
+            throw new UnsupportedOperationException("Plugin configurations are only written as JSON, not read.");
+        }
+    }
 }
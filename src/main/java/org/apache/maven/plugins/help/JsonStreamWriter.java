@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes a JSON document to a stream as it is built, indented with two spaces, without keeping it in memory.
+ * <p>
+ * Members are written with {@link #name(String)} followed by a value, an object or an array, for instance
+ * <code>json.beginObject().name("goal").value("describe").endObject()</code>.
+ *
+ * @since 3.5.2
+ */
+class JsonStreamWriter {
+    private static final String INDENT = "  ";
+
+    private final Writer out;
+
+    /**
+     * The number of values already written in each object or array being written, the innermost first.
+     */
+    private final Deque<int[]> counts = new ArrayDeque<>();
+
+    /**
+     * Whether a member name was written, which is followed by its value.
+     */
+    private boolean named;
+
+    /**
+     * @param out the stream to write the document to, not <code>null</code>.
+     */
+    JsonStreamWriter(Writer out) {
+        this.out = out;
+    }
+
+    JsonStreamWriter beginObject() throws IOException {
+        return begin('{');
+    }
+
+    JsonStreamWriter endObject() throws IOException {
+        return end('}');
+    }
+
+    JsonStreamWriter beginArray() throws IOException {
+        return begin('[');
+    }
+
+    JsonStreamWriter endArray() throws IOException {
+        return end(']');
+    }
+
+    /**
+     * @param name the name of the next member of the current object, not <code>null</code>.
+     * @return this writer.
+     * @throws IOException if any
+     */
+    JsonStreamWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        out.write(": ");
+        named = true;
+        return this;
+    }
+
+    /**
+     * @param value the value, may be <code>null</code>.
+     * @return this writer.
+     * @throws IOException if any
+     */
+    JsonStreamWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    JsonStreamWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(String.valueOf(value));
+        return this;
+    }
+
+    JsonStreamWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * Starts a value serialized by another JSON writer, i.e. a Maven model object written by XStream.
+     *
+     * @return the writer to write the whole value to, which indents its lines to the depth of the value. It does not
+     *         need to be closed, and this writer can be used again once the value is written.
+     * @throws IOException if any
+     */
+    Writer rawValue() throws IOException {
+        beforeValue();
+        StringBuilder indent = new StringBuilder();
+        for (int i = 0; i < counts.size(); i++) {
+            indent.append(INDENT);
+        }
+        return new IndentingWriter(out, indent.toString());
+    }
+
+    /**
+     * Writes a member of the current object, unless its value is <code>null</code>.
+     *
+     * @param name the name of the member, not <code>null</code>.
+     * @param value the value of the member, may be <code>null</code>.
+     * @return this writer.
+     * @throws IOException if any
+     */
+    JsonStreamWriter member(String name, String value) throws IOException {
+        return value != null ? name(name).value(value) : this;
+    }
+
+    private JsonStreamWriter begin(char bracket) throws IOException {
+        beforeValue();
+        out.write(bracket);
+        counts.push(new int[1]);
+        return this;
+    }
+
+    private JsonStreamWriter end(char bracket) throws IOException {
+        if (counts.pop()[0] > 0) {
+            newLine();
+        }
+        out.write(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (named) {
+            named = false;
+            return;
+        }
+        int[] count = counts.peek();
+        if (count != null) {
+            if (count[0]++ > 0) {
+                out.write(',');
+            }
+            newLine();
+        }
+    }
+
+    private void newLine() throws IOException {
+        out.write('\n');
+        for (int i = 0; i < counts.size(); i++) {
+            out.write(INDENT);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escaped;
+            if (c == '"' || c == '\\') {
+                escaped = "\\" + c;
+            } else if (c == '\n') {
+                escaped = "\\n";
+            } else if (c == '\r') {
+                escaped = "\\r";
+            } else if (c == '\t') {
+                escaped = "\\t";
+            } else if (c < 0x20) {
+                escaped = String.format("\\u%04x", (int) c);
+            } else {
+                continue;
+            }
+            out.write(value, start, i - start);
+            out.write(escaped);
+            start = i + 1;
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * Indents all the lines but the first one, to nest multi-line values.
+     */
+    private static class IndentingWriter extends FilterWriter {
+        private final String indent;
+
+        private boolean newLine;
+
+        IndentingWriter(Writer out, String indent) {
+            super(out);
+            this.indent = indent;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(int c) throws IOException {
+            if (newLine) {
+                out.write(indent);
+            }
+            out.write(c);
+            newLine = c == '\n';
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            // the underlying stream is still used by the JSON writer
+            flush();
+        }
+    }
+}
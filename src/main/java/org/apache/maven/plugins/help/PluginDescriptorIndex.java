@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.descriptor.DuplicateMojoDescriptorException;
+import org.apache.maven.plugin.descriptor.DuplicateParameterException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.tools.plugin.generator.HtmlToPlainTextConverter;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.codehaus.plexus.util.xml.Xpp3DomWriter;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+
+/**
+ * An index of the plugin descriptor fields shown by <code>help:describe</code>, stored as one XML file per plugin
+ * version, so that describing a plugin again does not need to read its descriptor from the plugin jar. An entry is
+ * only used while the size and the last modification time of the plugin jar are the ones it was written with.
+ * <p>
+ * The descriptions converted to plain text are stored next to the original ones, and are only used while the
+ * version of the converter is the one they were written with. They are neither stored nor used when the version of
+ * the converter is unknown, as it could then change without notice.
+ *
+ * @since 3.5.2
+ */
+class PluginDescriptorIndex {
+    private final File directory;
+
+    private final String converterVersion;
+
+    /**
+     * @param directory the directory of the index, not <code>null</code>.
+     * @param converterVersion the version of the converter of the descriptions to plain text, or <code>null</code> if
+     *            it is unknown.
+     */
+    PluginDescriptorIndex(File directory, String converterVersion) {
+        this.directory = directory;
+        this.converterVersion = converterVersion;
+    }
+
+    /**
+     * @param lrm the manager of the local repository to store the index in, not <code>null</code>.
+     * @return the index of the local repository, for the version of the converter used by this plugin.
+     */
+    static PluginDescriptorIndex of(LocalRepositoryManager lrm) {
+        File basedir = lrm.getRepository().getBasedir();
+        // without a manifest, i.e. in an IDE, or with a snapshot, the converter could change without a new version:
+        // the plain texts are then neither stored nor read
+        String converterVersion = HtmlToPlainTextConverter.class.getPackage().getImplementationVersion();
+        if (converterVersion != null && converterVersion.endsWith("-SNAPSHOT")) {
+            converterVersion = null;
+        }
+        return new PluginDescriptorIndex(new File(basedir, ".cache/maven-help-plugin/descriptors"), converterVersion);
+    }
+
+    /**
+     * @param groupId the group id of the plugin, not <code>null</code>.
+     * @param artifactId the artifact id of the plugin, not <code>null</code>.
+     * @param version the version of the plugin, not <code>null</code>.
+     * @return the file of the index entry of the plugin, never <code>null</code>.
+     */
+    File getFile(String groupId, String artifactId, String version) {
+        return new File(directory, groupId + File.separator + artifactId + File.separator + version + ".xml");
+    }
+
+    /**
+     * Reads the index entry of a plugin.
+     *
+     * @param groupId the group id of the plugin, not <code>null</code>.
+     * @param artifactId the artifact id of the plugin, not <code>null</code>.
+     * @param version the version of the plugin, not <code>null</code>.
+     * @param jar the plugin jar, not <code>null</code>.
+     * @param reportGoals the map to put whether the goals are report goals into, by goal, not <code>null</code>.
+     * @param plainTexts the map to put the descriptions converted to plain text into, by description, not
+     *            <code>null</code>.
+     * @return the plugin descriptor, or <code>null</code> if the plugin is not indexed or if its jar changed.
+     * @throws IOException if the index entry can not be read.
+     */
+    PluginDescriptor read(
+            String groupId,
+            String artifactId,
+            String version,
+            File jar,
+            Map<String, Boolean> reportGoals,
+            Map<String, String> plainTexts)
+            throws IOException {
+        File file = getFile(groupId, artifactId, version);
+        if (!file.isFile() || !jar.isFile()) {
+            return null;
+        }
+
+        Xpp3Dom dom;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            dom = Xpp3DomBuilder.build(reader, false);
+        } catch (XmlPullParserException e) {
+            throw new IOException("Invalid plugin descriptor index entry: " + file, e);
+        }
+        if (!String.valueOf(jar.length()).equals(dom.getAttribute("jarSize"))
+                || !String.valueOf(jar.lastModified()).equals(dom.getAttribute("jarLastModified"))) {
+            return null;
+        }
+
+        // the plain texts are read into a throwaway map when they were converted by another or an unknown version
+        Map<String, String> texts = new HashMap<>();
+        Map<String, String> descriptions =
+                converterVersion != null && converterVersion.equals(dom.getAttribute("converterVersion"))
+                        ? texts
+                        : new HashMap<>();
+
+        PluginDescriptor pd = new PluginDescriptor();
+        pd.setGroupId(getValue(dom, "groupId"));
+        pd.setArtifactId(getValue(dom, "artifactId"));
+        pd.setVersion(getValue(dom, "version"));
+        pd.setGoalPrefix(getValue(dom, "goalPrefix"));
+        pd.setName(getValue(dom, "name"));
+        pd.setDescription(getDescription(dom, descriptions));
+
+        Map<String, Boolean> reports = new HashMap<>();
+        Xpp3Dom mojos = dom.getChild("mojos");
+        try {
+            for (Xpp3Dom mojo : mojos != null ? mojos.getChildren("mojo") : new Xpp3Dom[0]) {
+                MojoDescriptor md = readMojo(mojo, descriptions);
+                md.setPluginDescriptor(pd);
+                pd.addMojo(md);
+
+                String report = getValue(mojo, "report");
+                if (report != null) {
+                    reports.put(md.getGoal(), Boolean.valueOf(report));
+                }
+            }
+        } catch (DuplicateMojoDescriptorException | DuplicateParameterException e) {
+            throw new IOException("Invalid plugin descriptor index entry: " + file, e);
+        }
+        reportGoals.putAll(reports);
+        plainTexts.putAll(texts);
+        return pd;
+    }
+
+    private static MojoDescriptor readMojo(Xpp3Dom mojo, Map<String, String> plainTexts)
+            throws DuplicateParameterException {
+        MojoDescriptor md = new MojoDescriptor();
+        md.setGoal(getValue(mojo, "goal"));
+        md.setDescription(getDescription(mojo, plainTexts));
+        md.setDeprecated(getValue(mojo, "deprecated"));
+        md.setImplementation(getValue(mojo, "implementation"));
+        md.setLanguage(getValue(mojo, "language"));
+        md.setPhase(getValue(mojo, "phase"));
+        md.setExecuteGoal(getValue(mojo, "executeGoal"));
+        md.setExecutePhase(getValue(mojo, "executePhase"));
+        md.setExecuteLifecycle(getValue(mojo, "executeLifecycle"));
+
+        Xpp3Dom parameters = mojo.getChild("parameters");
+        if (parameters != null) {
+            for (Xpp3Dom parameter : parameters.getChildren("parameter")) {
+                Parameter p = new Parameter();
+                p.setName(getValue(parameter, "name"));
+                p.setAlias(getValue(parameter, "alias"));
+                p.setType(getValue(parameter, "type"));
+                p.setRequired(Boolean.parseBoolean(getValue(parameter, "required")));
+                p.setEditable(Boolean.parseBoolean(getValue(parameter, "editable")));
+                p.setDescription(getDescription(parameter, plainTexts));
+                p.setDeprecated(getValue(parameter, "deprecated"));
+                p.setSince(getValue(parameter, "since"));
+                p.setExpression(getValue(parameter, "expression"));
+                p.setDefaultValue(getValue(parameter, "defaultValue"));
+                md.addParameter(p);
+            }
+        }
+        return md;
+    }
+
+    /**
+     * Writes the index entry of a plugin, replacing the previous one if any.
+     *
+     * @param pd the plugin descriptor, not <code>null</code>.
+     * @param jar the plugin jar, not <code>null</code>.
+     * @param reportGoals whether the goals are report goals, by goal, not <code>null</code>.
+     * @param plainTexts the descriptions converted to plain text, by description, not <code>null</code>.
+     * @throws IOException if the index entry can not be written.
+     */
+    void write(PluginDescriptor pd, File jar, Map<String, Boolean> reportGoals, Map<String, String> plainTexts)
+            throws IOException {
+        Xpp3Dom dom = new Xpp3Dom("plugin");
+        dom.setAttribute("jarSize", String.valueOf(jar.length()));
+        dom.setAttribute("jarLastModified", String.valueOf(jar.lastModified()));
+        // the plain texts are not stored when the version of their converter is unknown
+        Map<String, String> texts = plainTexts;
+        if (converterVersion != null) {
+            dom.setAttribute("converterVersion", converterVersion);
+        } else {
+            texts = Collections.emptyMap();
+        }
+        addChild(dom, "groupId", pd.getGroupId());
+        addChild(dom, "artifactId", pd.getArtifactId());
+        addChild(dom, "version", pd.getVersion());
+        addChild(dom, "goalPrefix", pd.getGoalPrefix());
+        addChild(dom, "name", pd.getName());
+        addDescription(dom, pd.getDescription(), texts);
+
+        List<MojoDescriptor> mojoDescriptors = pd.getMojos();
+        if (mojoDescriptors != null) {
+            Xpp3Dom mojos = addChild(dom, "mojos");
+            for (MojoDescriptor md : mojoDescriptors) {
+                Xpp3Dom mojo = addChild(mojos, "mojo");
+                addChild(mojo, "goal", md.getGoal());
+                addDescription(mojo, md.getDescription(), texts);
+                addChild(mojo, "deprecated", md.getDeprecated());
+                addChild(mojo, "implementation", md.getImplementation());
+                addChild(mojo, "language", md.getLanguage());
+                addChild(mojo, "phase", md.getPhase());
+                addChild(mojo, "executeGoal", md.getExecuteGoal());
+                addChild(mojo, "executePhase", md.getExecutePhase());
+                addChild(mojo, "executeLifecycle", md.getExecuteLifecycle());
+                Boolean report = reportGoals.get(md.getGoal());
+                addChild(mojo, "report", report != null ? report.toString() : null);
+
+                if (md.getParameters() != null) {
+                    Xpp3Dom parameters = addChild(mojo, "parameters");
+                    for (Parameter p : md.getParameters()) {
+                        writeParameter(addChild(parameters, "parameter"), md, p, texts);
+                    }
+                }
+            }
+        }
+
+        File file = getFile(pd.getGroupId(), pd.getArtifactId(), pd.getVersion());
+        Files.createDirectories(file.getParentFile().toPath());
+        // written next to the entry and moved, so that concurrent builds never read a partial entry
+        Path tmp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                Xpp3DomWriter.write(new PrettyPrintXMLWriter(writer, "UTF-8", null), dom);
+            }
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeParameter(
+            Xpp3Dom parameter, MojoDescriptor md, Parameter p, Map<String, String> plainTexts) {
+        addChild(parameter, "name", p.getName());
+        addChild(parameter, "alias", p.getAlias());
+        addChild(parameter, "type", p.getType());
+        addChild(parameter, "required", String.valueOf(p.isRequired()));
+        addChild(parameter, "editable", String.valueOf(p.isEditable()));
+        addDescription(parameter, p.getDescription(), plainTexts);
+        addChild(parameter, "deprecated", p.getDeprecated());
+        addChild(parameter, "since", p.getSince());
+
+        // the expression and the default value may only be in the mojo configuration (cf. MNG-4941)
+        String expression = p.getExpression();
+        String defaultValue = p.getDefaultValue();
+        PlexusConfiguration configuration =
+                md.getMojoConfiguration() != null ? md.getMojoConfiguration().getChild(p.getName(), false) : null;
+        if (configuration != null) {
+            if (expression == null || expression.isEmpty()) {
+                expression = configuration.getValue(null);
+            }
+            if (defaultValue == null) {
+                defaultValue = configuration.getAttribute("default-value", null);
+            }
+        }
+        addChild(parameter, "expression", expression);
+        addChild(parameter, "defaultValue", defaultValue);
+    }
+
+    private static Xpp3Dom addChild(Xpp3Dom parent, String name) {
+        Xpp3Dom child = new Xpp3Dom(name);
+        parent.addChild(child);
+        return child;
+    }
+
+    private static void addChild(Xpp3Dom parent, String name, String value) {
+        if (value != null) {
+            addChild(parent, name).setValue(value);
+        }
+    }
+
+    private static void addDescription(Xpp3Dom parent, String description, Map<String, String> plainTexts) {
+        addChild(parent, "description", description);
+        if (description != null) {
+            addChild(parent, "plainDescription", plainTexts.get(description));
+        }
+    }
+
+    /**
+     * @return the description of the element, after putting its plain text, if any, into the given map.
+     */
+    private static String getDescription(Xpp3Dom parent, Map<String, String> plainTexts) {
+        String description = getValue(parent, "description");
+        String plainText = getValue(parent, "plainDescription");
+        if (description != null && plainText != null) {
+            plainTexts.put(description, plainText);
+        }
+        return description;
+    }
+
+    /**
+     * @return the value of the child, the empty string if the child has no value, or <code>null</code> if there is
+     *         no such child.
+     */
+    private static String getValue(Xpp3Dom parent, String name) {
+        Xpp3Dom child = parent.getChild(name);
+        if (child == null) {
+            return null;
+        }
+        return child.getValue() != null ? child.getValue() : "";
+    }
+}
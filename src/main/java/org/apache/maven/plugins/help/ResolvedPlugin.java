@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * The artifacts of a plugin, resolved once per run: its project built from its POM and its class path.
+ *
+ * @since 3.5.2
+ */
+class ResolvedPlugin {
+    private final MavenProject project;
+
+    private final List<File> classPath;
+
+    /**
+     * @param project the plugin project, with its dependencies resolved, not <code>null</code>.
+     * @param classPath the plugin jar followed by its compile class path elements, not <code>null</code>.
+     */
+    ResolvedPlugin(MavenProject project, List<File> classPath) {
+        this.project = project;
+        this.classPath = classPath;
+    }
+
+    /**
+     * @return the plugin project, not <code>null</code>.
+     */
+    MavenProject getProject() {
+        return project;
+    }
+
+    /**
+     * @return the plugin jar followed by its compile class path elements, not <code>null</code>.
+     */
+    List<File> getClassPath() {
+        return classPath;
+    }
+}
@@ -24,9 +24,22 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationFile;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Model;
 import org.apache.maven.model.Profile;
+import org.apache.maven.model.profile.activation.ProfileActivator;
 import org.apache.maven.monitor.logging.DefaultLog;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
@@ -36,11 +49,19 @@ import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.LoggerManager;
 import org.codehaus.plexus.util.IOUtil;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * Test class for the all-profiles mojo of the Help Plugin.
  */
 public class AllProfilesMojoTest extends AbstractMojoTestCase {
 
+    private static final String LS = System.lineSeparator();
+
     private InterceptingLog interceptingLogger;
 
     @Override
@@ -81,9 +102,9 @@ public class AllProfilesMojoTest extends AbstractMojoTestCase {
 
         AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
 
-        MavenProjectStub project = new MavenProjectStub();
+        MavenProjectStub project = newProjectStub("project");
         project.getModel().setProfiles(Arrays.asList(newPomProfile("pro-1", "pom"), newPomProfile("pro-2", "pom")));
-        project.setParent(new MavenProjectStub());
+        project.setParent(newProjectStub("parent"));
         project.getParent().getModel().setProfiles(Arrays.asList(newPomProfile("pro-3", "pom")));
         project.setActiveProfiles(Arrays.asList(newPomProfile("pro-1", "pom")));
 
@@ -111,8 +132,8 @@ public class AllProfilesMojoTest extends AbstractMojoTestCase {
 
         AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
 
-        MavenProjectStub project = new MavenProjectStub();
-        project.setParent(new MavenProjectStub());
+        MavenProjectStub project = newProjectStub("project");
+        project.setParent(newProjectStub("parent"));
         project.getParent().getModel().setProfiles(Arrays.asList(newPomProfile("pro-1", "pom")));
         project.getParent().setActiveProfiles(Arrays.asList(newPomProfile("pro-1", "pom")));
 
@@ -138,7 +159,7 @@ public class AllProfilesMojoTest extends AbstractMojoTestCase {
 
         AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
 
-        MavenProject project = new MavenProjectStub();
+        MavenProject project = newProjectStub("project");
         project.setActiveProfiles(Arrays.asList(newPomProfile("settings-1", "settings.xml")));
 
         List<org.apache.maven.settings.Profile> settingsProfiles = new ArrayList<>();
@@ -153,6 +174,367 @@ public class AllProfilesMojoTest extends AbstractMojoTestCase {
         assertTrue(file.contains("Profile Id: settings-2 (Active: false, Source: settings.xml)"));
     }
 
+    /**
+     * Tests the case when profiles are present in the settings and several projects are listed.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testProfileFromSettingsForAllProjects() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        MavenProjectStub project1 = newProjectStub("project-1");
+        project1.getModel().setProfiles(Arrays.asList(newPomProfile("settings-1", "pom")));
+        MavenProjectStub project2 = newProjectStub("project-2");
+
+        setUpMojo(
+                mojo,
+                Arrays.<MavenProject>asList(project1, project2),
+                Arrays.asList(newSettingsProfile("settings-1"), newSettingsProfile("settings-2")),
+                "profiles-from-settings-for-all-projects.txt");
+
+        mojo.execute();
+
+        // the profiles of a project override the settings profiles with the same id, for that project only
+        String file = readFile("profiles-from-settings-for-all-projects.txt");
+        assertEquals(2, file.split("Profile Id: settings-2 \\(Active: false, Source: settings.xml\\)", -1).length - 1);
+        assertEquals(1, file.split("Profile Id: settings-1 \\(Active: false, Source: settings.xml\\)", -1).length - 1);
+        assertEquals(1, file.split("Profile Id: settings-1 \\(Active: false, Source: pom\\)", -1).length - 1);
+    }
+
+    /**
+     * Tests the case when a large reactor shares the same parents: the profiles of each parent are collected once.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testProfilesFromSharedParents() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        // a corporate parent and two BOM-style parents of all the modules, outside of the reactor: like Maven does,
+        // each module gets its own instances of its parents
+        Map<String, AtomicInteger> modelVisits = new HashMap<>();
+        List<MavenProject> modules = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            MavenProjectStub parent = null;
+            for (String id : Arrays.asList("corporate", "bom-1", "bom-2")) {
+                CountingProjectStub stub =
+                        new CountingProjectStub(modelVisits.computeIfAbsent(id, k -> new AtomicInteger()));
+                stub.setGroupId("org.test");
+                stub.setArtifactId(id);
+                stub.setVersion("1.0");
+                stub.getModel().setProfiles(Collections.singletonList(newPomProfile(id, "pom")));
+                stub.setParent(parent);
+                parent = stub;
+            }
+            MavenProjectStub module = newProjectStub("module-" + i);
+            module.getModel().setProfiles(Collections.singletonList(newPomProfile("module-" + i, "pom")));
+            module.setParent(parent);
+            modules.add(module);
+        }
+        modelVisits.values().forEach(visits -> visits.set(0));
+
+        setUpMojo(
+                mojo,
+                modules,
+                Collections.<org.apache.maven.settings.Profile>emptyList(),
+                "profiles-from-shared-parents.txt");
+
+        mojo.execute();
+
+        // without the cache, each parent would be visited once per module, i.e. 1000 times
+        assertEquals(3, modelVisits.size());
+        for (AtomicInteger visits : modelVisits.values()) {
+            assertEquals(1, visits.get());
+        }
+        String file = readFile("profiles-from-shared-parents.txt");
+        assertTrue(file.contains("Profile Id: module-999 (Active: false, Source: pom)"));
+        assertEquals(1000, file.split("Profile Id: corporate ", -1).length - 1);
+    }
+
+    /**
+     * Tests the matrix of the profiles by project in CSV.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testProfileMatrixCsv() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        setUpMojo(
+                mojo,
+                newReactorWithProfiles(),
+                Collections.singletonList(newSettingsProfile("settings-1")),
+                "profile-matrix.csv");
+        setVariableValueToObject(mojo, "outputFormat", "csv");
+
+        mojo.execute();
+
+        assertEquals(
+                "Profile Id,Source,org.test:module-a:jar:1.0,org.test:module-b:jar:1.0\n"
+                        + "it,org.test:module-a:1.0,active,\n"
+                        + "release,org.test:parent:1.0,active,inactive\n"
+                        + "settings-1,external,active,inactive\n",
+                readFile("profile-matrix.csv"));
+    }
+
+    /**
+     * Tests the matrix of the profiles by project in JSON.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testProfileMatrixJson() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        setUpMojo(
+                mojo,
+                newReactorWithProfiles(),
+                Collections.<org.apache.maven.settings.Profile>emptyList(),
+                "profile-matrix.json");
+        setVariableValueToObject(mojo, "outputFormat", "json");
+
+        mojo.execute();
+
+        String json = readFile("profile-matrix.json").replaceAll("\\s", "");
+        assertTrue(json.startsWith("{\"projects\":[\"org.test:module-a:jar:1.0\",\"org.test:module-b:jar:1.0\"]"));
+        assertTrue(json.contains("{\"id\":\"it\",\"source\":\"org.test:module-a:1.0\",\"states\":[\"active\",null]}"));
+        assertTrue(json.contains(
+                "{\"id\":\"release\",\"source\":\"org.test:parent:1.0\",\"states\":[\"active\",\"inactive\"]}"));
+    }
+
+    /**
+     * Tests the explanation of the activation of the profiles.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testVerboseActivation() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        Profile jdk = newPomProfile("jdk", "pom");
+        jdk.setActivation(new Activation());
+        jdk.getActivation().setJdk("[1.1,)");
+        Profile ci = newPomProfile("ci", "pom");
+        ci.setActivation(new Activation());
+        ci.getActivation().setProperty(new ActivationProperty());
+        ci.getActivation().getProperty().setName("env");
+        ci.getActivation().getProperty().setValue("ci");
+        ci.getActivation().setFile(new ActivationFile());
+        ci.getActivation().getFile().setExists(testPom.getPath());
+        Profile release = newPomProfile("release", "pom");
+
+        // the same activation is shared by the profiles of two projects
+        MavenProjectStub project1 = newProjectStub("project-1");
+        project1.getModel().setProfiles(Arrays.asList(jdk, ci));
+        MavenProjectStub project2 = newProjectStub("project-2");
+        project2.getModel().setProfiles(Arrays.asList(ci, release));
+
+        setUpMojo(
+                mojo,
+                Arrays.<MavenProject>asList(project1, project2),
+                Collections.<org.apache.maven.settings.Profile>emptyList(),
+                "verbose-activation.txt");
+        setVariableValueToObject(mojo, "verbose", true);
+
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        request.setActiveProfiles(Collections.singletonList("release"));
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRequest()).thenReturn(request);
+        when(session.getSystemProperties()).thenReturn(System.getProperties());
+        Properties userProperties = new Properties();
+        userProperties.setProperty("env", "dev");
+        when(session.getUserProperties()).thenReturn(userProperties);
+        setVariableValueToObject(mojo, "session", session);
+
+        Map<String, ProfileActivator> profileActivators =
+                new HashMap<>(getContainer().lookupMap(ProfileActivator.class));
+        ProfileActivator property = spy(profileActivators.get("property"));
+        profileActivators.put("property", property);
+        setVariableValueToObject(mojo, "profileActivators", profileActivators);
+
+        mojo.execute();
+
+        String file = readFile("verbose-activation.txt");
+        assertTrue(file.contains("Profile Id: jdk (Active: false, Source: pom)" + LS + "    JDK [1.1,): matches" + LS));
+        assertTrue(file.contains("Profile Id: ci (Active: false, Source: pom)" + LS
+                + "    Property env=ci: does not match" + LS
+                + "    File exists=" + testPom.getPath() + ": matches" + LS));
+        assertTrue(file.contains("Profile Id: release (Active: false, Source: pom)" + LS
+                + "    Activated explicitly" + LS
+                + "    No activation condition" + LS));
+        verify(property).isActive(any(), any(), any());
+    }
+
+    /**
+     * Tests that the problems of an activation shared by several profiles name each profile.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testVerboseActivationProblems() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+        Profile java8 = newPomProfile("java-8", "pom");
+        java8.setActivation(new Activation());
+        java8.getActivation().setJdk("1.8");
+        Profile legacy = newPomProfile("legacy", "pom");
+        legacy.setActivation(new Activation());
+        legacy.getActivation().setJdk("1.8");
+
+        MavenProjectStub project = newProjectStub("project");
+        project.getModel().setProfiles(Arrays.asList(java8, legacy));
+
+        setUpMojo(
+                mojo,
+                Collections.<MavenProject>singletonList(project),
+                Collections.<org.apache.maven.settings.Profile>emptyList(),
+                "verbose-activation-problems.txt");
+        setVariableValueToObject(mojo, "verbose", true);
+
+        // without java.version, the JDK activator reports a problem naming the profile
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRequest()).thenReturn(new DefaultMavenExecutionRequest());
+        when(session.getSystemProperties()).thenReturn(new Properties());
+        when(session.getUserProperties()).thenReturn(new Properties());
+        setVariableValueToObject(mojo, "session", session);
+        setVariableValueToObject(
+                mojo, "profileActivators", new HashMap<>(getContainer().lookupMap(ProfileActivator.class)));
+
+        mojo.execute();
+
+        String file = readFile("verbose-activation-problems.txt");
+        assertTrue(file.contains("Profile Id: java-8 (Active: false, Source: pom)" + LS
+                + "    JDK 1.8: does not match (Failed to determine Java version for profile java-8)" + LS));
+        assertTrue(file.contains("Profile Id: legacy (Active: false, Source: pom)" + LS
+                + "    JDK 1.8: does not match (Failed to determine Java version for profile legacy)" + LS));
+    }
+
+    /**
+     * Tests that the description of a large reactor does not depend on the order the profiles are declared in.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testSortedProfilesForLargeReactor() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/all-profiles/plugin-config.xml");
+
+        for (long seed : new long[] {1L, 2L}) {
+            AllProfilesMojo mojo = (AllProfilesMojo) lookupMojo("all-profiles", testPom);
+
+            Random random = new Random(seed);
+            List<org.apache.maven.settings.Profile> settingsProfiles = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                settingsProfiles.add(newSettingsProfile(String.format("settings-%02d", i)));
+            }
+            Collections.shuffle(settingsProfiles, random);
+
+            setUpMojo(mojo, newLargeReactor(random), settingsProfiles, "sorted-profiles-" + seed + ".txt");
+
+            mojo.execute();
+        }
+
+        String file = readFile("sorted-profiles-1.txt");
+        assertEquals(file, readFile("sorted-profiles-2.txt"));
+
+        String[] sections = file.split("Listing Profiles for Project: ");
+        assertEquals(501, sections.length);
+        for (int i = 1; i < sections.length; i++) {
+            List<String> activeIds = new ArrayList<>();
+            List<String> inactiveIds = new ArrayList<>();
+            for (String line : sections[i].split(LS)) {
+                if (line.startsWith("  Profile Id: ")) {
+                    String id = line.substring("  Profile Id: ".length(), line.indexOf(" (Active: "));
+                    (line.contains("(Active: true") ? activeIds : inactiveIds).add(id);
+                }
+            }
+            assertEquals(20 + 15, activeIds.size() + inactiveIds.size());
+            assertFalse(activeIds.isEmpty());
+            assertTrue(sections[i].indexOf("(Active: true") < sections[i].indexOf("(Active: false"));
+            List<String> sortedIds = new ArrayList<>(activeIds);
+            Collections.sort(sortedIds);
+            assertEquals(sortedIds, activeIds);
+            sortedIds = new ArrayList<>(inactiveIds);
+            Collections.sort(sortedIds);
+            assertEquals(sortedIds, inactiveIds);
+        }
+    }
+
+    /**
+     * @param random the random to shuffle the profiles with.
+     * @return 500 modules of 10 parents, each module with 10 profiles of its own and 5 of its parent, the same for
+     *         any random but declared in a random order.
+     */
+    private List<MavenProject> newLargeReactor(Random random) {
+        List<MavenProjectStub> parents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            MavenProjectStub parent = newProjectStub("parent-" + i);
+            List<Profile> profiles = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                profiles.add(newPomProfile(String.format("parent-%d-%02d", i, j), "pom"));
+            }
+            Collections.shuffle(profiles, random);
+            parent.getModel().setProfiles(profiles);
+            parents.add(parent);
+        }
+
+        List<MavenProject> modules = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            MavenProjectStub module = newProjectStub(String.format("module-%03d", i));
+            module.setParent(parents.get(i % parents.size()));
+            List<Profile> profiles = new ArrayList<>();
+            List<Profile> activeProfiles = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                Profile profile = newPomProfile(String.format("profile-%03d", (i + j * 37) % 100), "pom");
+                profiles.add(profile);
+                if ((i + j) % 3 == 0) {
+                    activeProfiles.add(profile);
+                }
+            }
+            Collections.shuffle(profiles, random);
+            Collections.shuffle(activeProfiles, random);
+            module.getModel().setProfiles(profiles);
+            module.setActiveProfiles(activeProfiles);
+            modules.add(module);
+        }
+        return modules;
+    }
+
+    private List<MavenProject> newReactorWithProfiles() {
+        MavenProjectStub parent = newProjectStub("parent");
+        parent.getModel().setProfiles(Collections.singletonList(newPomProfile("release", "pom")));
+
+        MavenProjectStub moduleA = newProjectStub("module-a");
+        moduleA.setParent(parent);
+        moduleA.getModel().setProfiles(Collections.singletonList(newPomProfile("it", "pom")));
+        moduleA.setInjectedProfileIds("org.test:module-a:1.0", Collections.singletonList("it"));
+        moduleA.setInjectedProfileIds("org.test:parent:1.0", Collections.singletonList("release"));
+        moduleA.setInjectedProfileIds("external", Collections.singletonList("settings-1"));
+
+        MavenProjectStub moduleB = newProjectStub("module-b");
+        moduleB.setParent(parent);
+        return Arrays.<MavenProject>asList(moduleA, moduleB);
+    }
+
+    private MavenProjectStub newProjectStub(String artifactId) {
+        MavenProjectStub project = new MavenProjectStub() {
+            @Override
+            public String getId() {
+                return getGroupId() + ":" + getArtifactId() + ":" + getPackaging() + ":" + getVersion();
+            }
+        };
+        project.setGroupId("org.test");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setPackaging("jar");
+        return project;
+    }
+
     private Profile newPomProfile(String id, String source) {
         Profile profile = new Profile();
         profile.setId(id);
@@ -186,6 +568,20 @@ public class AllProfilesMojoTest extends AbstractMojoTestCase {
         }
     }
 
+    private static final class CountingProjectStub extends MavenProjectStub {
+        private final AtomicInteger modelVisits;
+
+        CountingProjectStub(AtomicInteger modelVisits) {
+            this.modelVisits = modelVisits;
+        }
+
+        @Override
+        public Model getModel() {
+            modelVisits.incrementAndGet();
+            return super.getModel();
+        }
+    }
+
     private static final class InterceptingLog extends DefaultLog {
         final List<String> warnLogs = new ArrayList<>();
 
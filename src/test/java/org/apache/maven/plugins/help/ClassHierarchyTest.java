@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.Mojo;
+import org.apache.maven.reporting.MavenReport;
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link ClassHierarchy}.
+ */
+public class ClassHierarchyTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAssignableFromParent() throws Exception {
+        try (ClassHierarchy hierarchy =
+                new ClassHierarchy(Collections.emptyList(), getClass().getClassLoader())) {
+            assertTrue(hierarchy.isAssignableTo(DescribeMojo.class.getName(), Mojo.class.getName()));
+            assertTrue(hierarchy.isAssignableTo(DescribeMojo.class.getName(), AbstractHelpMojo.class.getName()));
+            assertTrue(hierarchy.isAssignableTo(DescribeMojo.class.getName(), DescribeMojo.class.getName()));
+            assertFalse(hierarchy.isAssignableTo(DescribeMojo.class.getName(), MavenReport.class.getName()));
+        }
+    }
+
+    @Test
+    public void testAssignableFromJar() throws Exception {
+        File jar = temporaryFolder.newFile("plugin.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addClass(out, ReportMojo.class);
+            addClass(out, ExtendedReport.class);
+            addClass(out, ExtendedReportMojo.class);
+        }
+
+        // the test classes are not visible from the parent class loader, so they must be read from the jar
+        try (URLClassLoader parent = newApiClassLoader();
+                ClassHierarchy hierarchy = new ClassHierarchy(Collections.singletonList(jar), parent)) {
+            assertTrue(hierarchy.isAssignableTo(ReportMojo.class.getName(), MavenReport.class.getName()));
+            assertTrue(hierarchy.isAssignableTo(ExtendedReportMojo.class.getName(), MavenReport.class.getName()));
+            assertTrue(hierarchy.isAssignableTo(ExtendedReportMojo.class.getName(), Mojo.class.getName()));
+            assertFalse(hierarchy.isAssignableTo(ReportMojo.class.getName(), ExtendedReport.class.getName()));
+        }
+    }
+
+    @Test
+    public void testAssignableFromDirectory() throws Exception {
+        File classes = new File(getLocation(ReportMojo.class).toURI());
+        try (URLClassLoader parent = newApiClassLoader();
+                ClassHierarchy hierarchy = new ClassHierarchy(Collections.singletonList(classes), parent)) {
+            assertTrue(hierarchy.isAssignableTo(ExtendedReportMojo.class.getName(), ExtendedReport.class.getName()));
+        }
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testMissingClass() throws Exception {
+        try (ClassHierarchy hierarchy =
+                new ClassHierarchy(Collections.emptyList(), getClass().getClassLoader())) {
+            hierarchy.isAssignableTo("org.apache.maven.plugins.help.Missing", MavenReport.class.getName());
+        }
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testMissingSuperclass() throws Exception {
+        File jar = temporaryFolder.newFile("plugin.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            addClass(out, ExtendedReportMojo.class);
+        }
+
+        try (URLClassLoader parent = newApiClassLoader();
+                ClassHierarchy hierarchy = new ClassHierarchy(Collections.singletonList(jar), parent)) {
+            hierarchy.isAssignableTo(ExtendedReportMojo.class.getName(), MavenReport.class.getName());
+        }
+    }
+
+    private static URLClassLoader newApiClassLoader() {
+        return new URLClassLoader(new URL[] {getLocation(MavenReport.class), getLocation(AbstractMojo.class)}, null);
+    }
+
+    private static URL getLocation(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    private static void addClass(JarOutputStream out, Class<?> type) throws Exception {
+        String resource = type.getName().replace('.', '/') + ".class";
+        out.putNextEntry(new JarEntry(resource));
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            IOUtil.copy(in, out);
+        }
+        out.closeEntry();
+    }
+
+    abstract static class ReportMojo extends AbstractMojo implements MavenReport {
+        // the constant pool of this class also holds long and double constants
+        static final long LONG = Long.MAX_VALUE;
+
+        static final double DOUBLE = Math.PI;
+    }
+
+    interface ExtendedReport extends MavenReport {}
+
+    abstract static class ExtendedReportMojo extends ReportMojo implements ExtendedReport {}
+}
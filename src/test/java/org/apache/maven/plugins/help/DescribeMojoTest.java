@@ -18,15 +18,39 @@
  */
 package org.apache.maven.plugins.help;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.DefaultLifecycles;
+import org.apache.maven.lifecycle.Lifecycle;
+import org.apache.maven.lifecycle.LifecycleExecutor;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
 import org.apache.maven.lifecycle.internal.MojoDescriptorCreator;
+import org.apache.maven.lifecycle.mapping.LifecycleMapping;
+import org.apache.maven.lifecycle.mapping.LifecyclePhase;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
 import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.Parameter;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
@@ -34,9 +58,21 @@ import org.apache.maven.plugin.version.PluginVersionRequest;
 import org.apache.maven.plugin.version.PluginVersionResolver;
 import org.apache.maven.plugin.version.PluginVersionResult;
 import org.apache.maven.plugins.help.DescribeMojo.PluginInfo;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.*;
@@ -47,11 +83,14 @@ import static org.mockito.Mockito.*;
  */
 public class DescribeMojoTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testGetExpressionsRoot()
             throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException,
                     InvocationTargetException {
-        DescribeMojo describeMojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo describeMojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         Method toLines =
                 describeMojo.getClass().getDeclaredMethod("toLines", String.class, int.class, int.class, int.class);
         toLines.setAccessible(true);
@@ -72,7 +111,7 @@ public class DescribeMojoTest {
         Method describeMojoParameters = DescribeMojo.class.getDeclaredMethod(
                 "describeMojoParameters", MojoDescriptor.class, StringBuilder.class);
         describeMojoParameters.setAccessible(true);
-        describeMojoParameters.invoke(new DescribeMojo(null, null, null, null, null, null, null), md, sb);
+        describeMojoParameters.invoke(new DescribeMojo(null, null, null, null, null, null, null, null), md, sb);
 
         assertEquals(
                 "  Available parameters:" + ls + ls + "    name" + ls + "      User property: valid.expression" + ls
@@ -94,7 +133,7 @@ public class DescribeMojoTest {
         Method describeMojoParameters = DescribeMojo.class.getDeclaredMethod(
                 "describeMojoParameters", MojoDescriptor.class, StringBuilder.class);
         describeMojoParameters.setAccessible(true);
-        describeMojoParameters.invoke(new DescribeMojo(null, null, null, null, null, null, null), md, sb);
+        describeMojoParameters.invoke(new DescribeMojo(null, null, null, null, null, null, null, null), md, sb);
 
         assertEquals(
                 "  Available parameters:" + ls + ls
@@ -107,7 +146,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testParsePluginInfoGAV() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         setFieldWithReflection(mojo, "groupId", "org.test");
         setFieldWithReflection(mojo, "artifactId", "test");
         setFieldWithReflection(mojo, "version", "1.0");
@@ -123,7 +162,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testParsePluginInfoPluginPrefix() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         setFieldWithReflection(mojo, "plugin", "help");
 
         Method parsePluginLookupInfo = setParsePluginLookupInfoAccessibility();
@@ -143,7 +182,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testParsePluginInfoPluginGA() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         setFieldWithReflection(mojo, "plugin", "org.test:test");
 
         Method parsePluginLookupInfo = setParsePluginLookupInfoAccessibility();
@@ -157,7 +196,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testParsePluginInfoPluginGAV() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         setFieldWithReflection(mojo, "plugin", "org.test:test:1.0");
 
         Method parsePluginLookupInfo = setParsePluginLookupInfoAccessibility();
@@ -171,7 +210,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testParsePluginInfoPluginIncorrect() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         setFieldWithReflection(mojo, "plugin", "org.test:test:1.0:invalid");
         try {
             Method parsePluginLookupInfo = setParsePluginLookupInfoAccessibility();
@@ -184,7 +223,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testLookupPluginDescriptorPrefixWithVersion() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
 
         PluginInfo pi = new PluginInfo();
         pi.setPrefix("help");
@@ -226,7 +265,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testLookupPluginDescriptorPrefixWithoutVersion() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
 
         PluginInfo pi = new PluginInfo();
         pi.setPrefix("help");
@@ -272,7 +311,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testLookupPluginDescriptorGAV() throws Throwable {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
 
         PluginInfo pi = new PluginInfo();
         pi.setGroupId("org.test");
@@ -310,7 +349,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testLookupPluginDescriptorGMissingA() {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         PluginInfo pi = new PluginInfo();
         pi.setGroupId("org.test");
         try {
@@ -326,7 +365,7 @@ public class DescribeMojoTest {
 
     @Test
     public void testLookupPluginDescriptorAMissingG() {
-        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null);
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
         PluginInfo pi = new PluginInfo();
         pi.setArtifactId("test");
         try {
@@ -340,6 +379,338 @@ public class DescribeMojoTest {
         }
     }
 
+    @Test
+    public void testGetUsedPluginsWithManagedVersion() throws Exception {
+        // the version of the surefire plugin of module-a is managed in module-b
+        MavenProject moduleA = newProject("module-a");
+        moduleA.getBuild().addPlugin(newPlugin("org.test", "surefire-plugin", null));
+        moduleA.getBuild().addPlugin(newPlugin("org.test", "exec-plugin", null));
+        MavenProject moduleB = newProject("module-b");
+        moduleB.getBuild().setPluginManagement(new PluginManagement());
+        moduleB.getBuild().getPluginManagement().addPlugin(newPlugin("org.test", "surefire-plugin", "1.2"));
+        moduleB.getBuild().addPlugin(newPlugin("org.test", "surefire-plugin", "1.2"));
+
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, null);
+        setFieldWithReflection(mojo, "reactorProjects", Arrays.asList(moduleA, moduleB));
+
+        Method getUsedPlugins = DescribeMojo.class.getDeclaredMethod("getUsedPlugins");
+        getUsedPlugins.setAccessible(true);
+        @SuppressWarnings("unchecked")
+        List<PluginInfo> plugins = (List<PluginInfo>) getUsedPlugins.invoke(mojo);
+
+        assertEquals(2, plugins.size());
+        assertEquals("exec-plugin", plugins.get(0).getArtifactId());
+        assertNull(plugins.get(0).getVersion());
+        assertEquals("surefire-plugin", plugins.get(1).getArtifactId());
+        assertEquals("1.2", plugins.get(1).getVersion());
+    }
+
+    @Test
+    public void testDescribeAllPhases() throws Exception {
+        Lifecycle clean = new Lifecycle(
+                "clean",
+                Arrays.asList("pre-clean", "clean"),
+                Collections.singletonMap("clean", new LifecyclePhase("org.test:clean-plugin:1.0:clean")));
+        Lifecycle build = new Lifecycle("default", Arrays.asList("compile", "install"), null);
+        DefaultLifecycles defaultLifecycles = mock(DefaultLifecycles.class);
+        when(defaultLifecycles.getLifeCycles()).thenReturn(Arrays.asList(clean, build));
+
+        Map<String, LifecyclePhase> jarPhases = new HashMap<>();
+        jarPhases.put("compile", new LifecyclePhase("org.test:compiler-plugin:1.0:compile"));
+        jarPhases.put(
+                "install",
+                new LifecyclePhase(" org.test:install-plugin:1.0:install,\n  org.test:index-plugin:1.0:index "));
+        // the lifecycle mappings only define the phases of the default lifecycle
+        LifecycleMapping jar = mock(LifecycleMapping.class);
+        when(jar.getLifecycles()).thenReturn(newLifecycleMappings(jarPhases));
+        LifecycleMapping pom = mock(LifecycleMapping.class);
+        when(pom.getLifecycles())
+                .thenReturn(newLifecycleMappings(Collections.singletonMap(
+                        "install", new LifecyclePhase("org.test:install-plugin:1.0:install"))));
+        Map<String, LifecycleMapping> lifecycleMappings = new HashMap<>();
+        lifecycleMappings.put("jar", jar);
+        lifecycleMappings.put("pom", pom);
+
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, defaultLifecycles, lifecycleMappings, null);
+        List<MavenProject> reactorProjects = new ArrayList<>();
+        for (String packaging : Arrays.asList("pom", "jar", "bundle", "jar")) {
+            MavenProject project = new MavenProject();
+            project.setPackaging(packaging);
+            reactorProjects.add(project);
+        }
+        setFieldWithReflection(mojo, "reactorProjects", reactorProjects);
+
+        Method describeAllPhases = DescribeMojo.class.getDeclaredMethod("describeAllPhases", StringBuilder.class);
+        describeAllPhases.setAccessible(true);
+        StringBuilder buffer = new StringBuilder();
+        describeAllPhases.invoke(mojo, buffer);
+
+        String ls = System.lineSeparator();
+        assertEquals(
+                "The lifecycle phases of the packagings jar, pom are bound to the following goals:" + ls
+                        + ls
+                        + "'clean' lifecycle:" + ls
+                        + "* pre-clean" + ls
+                        + "  jar, pom: Not defined" + ls
+                        + "* clean" + ls
+                        + "  jar, pom: org.test:clean-plugin:1.0:clean" + ls
+                        + ls
+                        + "'default' lifecycle:" + ls
+                        + "* compile" + ls
+                        + "  jar: org.test:compiler-plugin:1.0:compile" + ls
+                        + "  pom: Not defined" + ls
+                        + "* install" + ls
+                        + "  jar: org.test:install-plugin:1.0:install, org.test:index-plugin:1.0:index" + ls
+                        + "  pom: org.test:install-plugin:1.0:install" + ls,
+                buffer.toString());
+        // the lifecycle mapping of a packaging is looked up once, however many projects use it
+        verify(jar).getLifecycles();
+    }
+
+    private static Map<String, org.apache.maven.lifecycle.mapping.Lifecycle> newLifecycleMappings(
+            Map<String, LifecyclePhase> defaultPhases) {
+        org.apache.maven.lifecycle.mapping.Lifecycle lifecycle = new org.apache.maven.lifecycle.mapping.Lifecycle();
+        lifecycle.setId("default");
+        lifecycle.setLifecyclePhases(defaultPhases);
+        return Collections.singletonMap("default", lifecycle);
+    }
+
+    @Test
+    public void testDescribeExecutionPlans() throws Exception {
+        MavenProject moduleA = newProject("module-a");
+        MavenProject moduleB = newProject("module-b");
+
+        MojoExecution compile = newMojoExecution("compile", "org.test:compiler-plugin:1.0", "compile");
+        MojoExecution javadoc = newMojoExecution("verify", "org.test:javadoc-plugin:1.0", "jar");
+        MojoExecution generate = newMojoExecution("generate-sources", "org.test:generator-plugin:1.0", "generate");
+        javadoc.setForkedExecutions("org.test:module-a:jar:1.0", Collections.singletonList(generate));
+        Map<MavenProject, List<MojoExecution>> executions = new HashMap<>();
+        executions.put(moduleA, Arrays.asList(compile, javadoc));
+        executions.put(moduleB, Collections.emptyList());
+
+        LifecycleExecutor lifecycleExecutor = mock(LifecycleExecutor.class);
+        when(lifecycleExecutor.calculateExecutionPlan(any(MavenSession.class), eq("verify")))
+                .thenAnswer(invocation -> {
+                    MavenSession projectSession = invocation.getArgument(0);
+                    MavenExecutionPlan plan = mock(MavenExecutionPlan.class);
+                    when(plan.getMojoExecutions()).thenReturn(executions.get(projectSession.getCurrentProject()));
+                    return plan;
+                });
+
+        DescribeMojo mojo = new DescribeMojo(null, null, null, null, null, null, null, lifecycleExecutor);
+        setParentFieldWithReflection(
+                mojo,
+                "session",
+                new MavenSession(null, null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult()));
+        setFieldWithReflection(mojo, "reactorProjects", Arrays.asList(moduleA, moduleB));
+        setFieldWithReflection(mojo, "cmd", "verify");
+        setFieldWithReflection(mojo, "threads", 2);
+
+        Method describeExecutionPlans =
+                DescribeMojo.class.getDeclaredMethod("describeExecutionPlans", StringBuilder.class);
+        describeExecutionPlans.setAccessible(true);
+        StringBuilder buffer = new StringBuilder();
+        describeExecutionPlans.invoke(mojo, buffer);
+
+        String ls = System.lineSeparator();
+        assertEquals(
+                "'verify' runs the following goals for org.test:module-a:jar:1.0:" + ls
+                        + "* compile: org.test:compiler-plugin:1.0:compile (default-compile)" + ls
+                        + "* verify: org.test:javadoc-plugin:1.0:jar (default-jar)" + ls
+                        + "  * generate-sources: org.test:generator-plugin:1.0:generate (default-generate)" + ls
+                        + ls
+                        + "'verify' does not run any goal for org.test:module-b:jar:1.0." + ls,
+                buffer.toString());
+    }
+
+    @Test
+    public void testDescribePluginResolvesPluginOnce() throws Exception {
+        File jar = temporaryFolder.newFile("test-plugin-1.0.jar");
+        new JarOutputStream(new FileOutputStream(jar)).close();
+        File pom = temporaryFolder.newFile("test-plugin-1.0.pom");
+
+        RepositorySystem repositorySystem = mock(RepositorySystem.class);
+        when(repositorySystem.readArtifactDescriptor(any(), any())).thenAnswer(invocation -> {
+            ArtifactDescriptorRequest request = invocation.getArgument(1);
+            return new ArtifactDescriptorResult(request).setArtifact(request.getArtifact());
+        });
+        when(repositorySystem.resolveArtifact(any(), any())).thenAnswer(invocation -> {
+            ArtifactRequest request = invocation.getArgument(1);
+            File file = "jar".equals(request.getArtifact().getExtension()) ? jar : pom;
+            return new ArtifactResult(request).setArtifact(request.getArtifact().setFile(file));
+        });
+        MavenProject pluginProject = mock(MavenProject.class);
+        when(pluginProject.getName()).thenReturn("Test Plugin");
+        when(pluginProject.getCompileClasspathElements()).thenReturn(Collections.emptyList());
+        ProjectBuildingResult result = mock(ProjectBuildingResult.class);
+        when(result.getProject()).thenReturn(pluginProject);
+        ProjectBuilder projectBuilder = mock(ProjectBuilder.class);
+        when(projectBuilder.build(any(File.class), any())).thenReturn(result);
+        when(projectBuilder.build(any(Artifact.class), any())).thenAnswer(invocation -> {
+            // the name is read from the POM alone, without the dependencies of the plugin
+            ProjectBuildingRequest request = invocation.getArgument(1);
+            assertFalse(request.isResolveDependencies());
+            return result;
+        });
+
+        DescribeMojo mojo = new DescribeMojo(projectBuilder, repositorySystem, null, null, null, null, null, null);
+        MavenSession session = mock(MavenSession.class);
+        when(session.getProjectBuildingRequest()).thenReturn(new DefaultProjectBuildingRequest());
+        setParentFieldWithReflection(mojo, "session", session);
+        setParentFieldWithReflection(mojo, "project", new MavenProject());
+
+        // the descriptor has no name, so the name is read from the plugin project
+        PluginDescriptor pd = new PluginDescriptor();
+        pd.setGroupId("org.test");
+        pd.setArtifactId("test-plugin");
+        pd.setVersion("1.0");
+        for (String goal : Arrays.asList("run", "report")) {
+            MojoDescriptor md = new MojoDescriptor();
+            md.setGoal(goal);
+            md.setImplementation(DescribeMojo.class.getName());
+            md.setPluginDescriptor(pd);
+            pd.addMojo(md);
+        }
+
+        Method describePlugin =
+                DescribeMojo.class.getDeclaredMethod("describePlugin", PluginDescriptor.class, StringBuilder.class);
+        describePlugin.setAccessible(true);
+        StringBuilder buffer = new StringBuilder();
+        describePlugin.invoke(mojo, pd, buffer);
+
+        assertTrue(buffer.toString().contains("Test Plugin"));
+        verify(repositorySystem, times(3)).resolveArtifact(any(), any());
+        verify(projectBuilder, times(1)).build(any(Artifact.class), any());
+        verify(projectBuilder, times(1)).build(any(File.class), any());
+    }
+
+    @Test
+    public void testResolvePluginConcurrently() throws Exception {
+        // the plugin project is built while the other threads ask for the same plugin
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MavenProject pluginProject = mock(MavenProject.class);
+        when(pluginProject.getCompileClasspathElements()).thenReturn(Collections.emptyList());
+        ProjectBuildingResult result = mock(ProjectBuildingResult.class);
+        when(result.getProject()).thenReturn(pluginProject);
+        ProjectBuilder projectBuilder = mock(ProjectBuilder.class);
+        when(projectBuilder.build(any(File.class), any())).thenAnswer(invocation -> {
+            building.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return result;
+        });
+
+        DescribeMojo mojo = newResolvingMojo(projectBuilder);
+        PluginDescriptor pd = newPluginDescriptor("org.test", "test-plugin", "1.0");
+        Method resolvePlugin = DescribeMojo.class.getDeclaredMethod("resolvePlugin", PluginDescriptor.class);
+        resolvePlugin.setAccessible(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> resolutions = new ArrayList<>();
+            resolutions.add(executor.submit(() -> resolvePlugin.invoke(mojo, pd)));
+            assertTrue(building.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                resolutions.add(executor.submit(() -> resolvePlugin.invoke(mojo, pd)));
+            }
+            release.countDown();
+
+            Object resolved = resolutions.get(0).get(10, TimeUnit.SECONDS);
+            assertEquals(pluginProject, ((ResolvedPlugin) resolved).getProject());
+            for (Future<Object> resolution : resolutions) {
+                assertSame(resolved, resolution.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(projectBuilder, times(1)).build(any(File.class), any());
+    }
+
+    @Test
+    public void testResolvePluginFailure() throws Exception {
+        ProjectBuilder projectBuilder = mock(ProjectBuilder.class);
+        ProjectBuildingException failure =
+                new ProjectBuildingException("org.test:test-plugin:1.0", "Failure", new File("pom.xml"));
+        when(projectBuilder.build(any(File.class), any())).thenThrow(failure);
+
+        DescribeMojo mojo = newResolvingMojo(projectBuilder);
+        PluginDescriptor pd = newPluginDescriptor("org.test", "test-plugin", "1.0");
+        Method resolvePlugin = DescribeMojo.class.getDeclaredMethod("resolvePlugin", PluginDescriptor.class);
+        resolvePlugin.setAccessible(true);
+
+        // a plugin that could not be resolved is not resolved again
+        for (int i = 0; i < 2; i++) {
+            try {
+                resolvePlugin.invoke(mojo, pd);
+                fail();
+            } catch (InvocationTargetException e) {
+                assertSame(failure, e.getTargetException());
+            }
+        }
+        verify(projectBuilder, times(1)).build(any(File.class), any());
+    }
+
+    /**
+     * @param projectBuilder the builder of the plugin projects.
+     * @return a mojo resolving the jar and the POM of any plugin to empty files.
+     */
+    private DescribeMojo newResolvingMojo(ProjectBuilder projectBuilder) throws Exception {
+        File jar = temporaryFolder.newFile("resolved-plugin.jar");
+        File pom = temporaryFolder.newFile("resolved-plugin.pom");
+        RepositorySystem repositorySystem = mock(RepositorySystem.class);
+        when(repositorySystem.readArtifactDescriptor(any(), any())).thenAnswer(invocation -> {
+            ArtifactDescriptorRequest request = invocation.getArgument(1);
+            return new ArtifactDescriptorResult(request).setArtifact(request.getArtifact());
+        });
+        when(repositorySystem.resolveArtifact(any(), any())).thenAnswer(invocation -> {
+            ArtifactRequest request = invocation.getArgument(1);
+            File file = "jar".equals(request.getArtifact().getExtension()) ? jar : pom;
+            return new ArtifactResult(request).setArtifact(request.getArtifact().setFile(file));
+        });
+
+        DescribeMojo mojo = new DescribeMojo(projectBuilder, repositorySystem, null, null, null, null, null, null);
+        MavenSession session = mock(MavenSession.class);
+        when(session.getProjectBuildingRequest()).thenReturn(new DefaultProjectBuildingRequest());
+        setParentFieldWithReflection(mojo, "session", session);
+        setParentFieldWithReflection(mojo, "project", new MavenProject());
+        return mojo;
+    }
+
+    private static PluginDescriptor newPluginDescriptor(String groupId, String artifactId, String version) {
+        PluginDescriptor pd = new PluginDescriptor();
+        pd.setGroupId(groupId);
+        pd.setArtifactId(artifactId);
+        pd.setVersion(version);
+        return pd;
+    }
+
+    private static Plugin newPlugin(String groupId, String artifactId, String version) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId(groupId);
+        plugin.setArtifactId(artifactId);
+        plugin.setVersion(version);
+        return plugin;
+    }
+
+    private static MavenProject newProject(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.test");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        return project;
+    }
+
+    private static MojoExecution newMojoExecution(String phase, String plugin, String goal) {
+        String[] coordinates = plugin.split(":");
+        Plugin p = new Plugin();
+        p.setGroupId(coordinates[0]);
+        p.setArtifactId(coordinates[1]);
+        p.setVersion(coordinates[2]);
+        MojoExecution execution = new MojoExecution(p, goal, "default-" + goal);
+        execution.setLifecyclePhase(phase);
+        return execution;
+    }
+
     private static void setParentFieldWithReflection(
             final DescribeMojo mojo, final String fieldName, final Object value)
             throws NoSuchFieldException, IllegalAccessException {
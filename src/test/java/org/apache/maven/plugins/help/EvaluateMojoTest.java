@@ -18,12 +18,32 @@
  */
 package org.apache.maven.plugins.help;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Serializable;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.InputLocation;
 import org.apache.maven.monitor.logging.DefaultLog;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
@@ -37,6 +57,7 @@ import org.codehaus.plexus.logging.LoggerManager;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -145,6 +166,328 @@ public class EvaluateMojoTest extends AbstractMojoTestCase {
         assertTrue(interceptingLogger.warnLogs.isEmpty());
     }
 
+    /**
+     * Tests that all the <code>expressions</code> are evaluated with the same evaluator and printed to stdout as
+     * <code>expression=value</code> lines.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateExpressionsQuietModeWithOutputOnStdout() throws Exception {
+        File testPom =
+                new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config-expressions-quiet-stdout.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        when(expressionEvaluator.evaluate("${project.groupId}")).thenReturn("org.apache.maven.its.help");
+        when(expressionEvaluator.evaluate("${project.description}")).thenReturn("First line\nC:\\second line");
+
+        // Quiet mode given on command line.(simulation)
+        interceptingLogger.setInfoEnabled(false);
+
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        PrintStream saveOut = System.out;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(baos));
+
+        try {
+            mojo.execute();
+        } finally {
+            System.setOut(saveOut);
+            baos.close();
+        }
+
+        String ls = System.getProperty("line.separator");
+
+        assertEquals(
+                "project.groupId=org.apache.maven.its.help" + ls + "project.description=First line\\nC:\\\\second line"
+                        + ls,
+                baos.toString());
+        assertTrue(interceptingLogger.warnLogs.isEmpty());
+    }
+
+    /**
+     * Tests that the Maven model objects are serialized with their aliases, without resolving any Maven artifact.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateModelObjectUsesAliases() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config-quiet-stdout.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.apache.maven.its.help");
+        dependency.setArtifactId("dependency");
+        dependency.setVersion("1.0");
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        when(expressionEvaluator.evaluate(anyString()))
+                .thenReturn(new ArrayList<>(Collections.singletonList(dependency)));
+
+        // Quiet mode given on command line.(simulation)
+        interceptingLogger.setInfoEnabled(false);
+
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        PrintStream saveOut = System.out;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(baos));
+
+        try {
+            mojo.execute();
+        } finally {
+            System.setOut(saveOut);
+            baos.close();
+        }
+
+        String stdResult = baos.toString();
+        assertTrue(stdResult, stdResult.startsWith("<dependencies>"));
+        assertTrue(stdResult, stdResult.contains("<dependency>"));
+        assertTrue(stdResult, stdResult.contains("<artifactId>dependency</artifactId>"));
+        assertFalse(stdResult, stdResult.contains("org.apache.maven.model.Dependency"));
+    }
+
+    /**
+     * Tests that the results of several expressions are written as a JSON object, with model objects as JSON too.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateExpressionsAsJson() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config-expressions-json.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.apache.maven.its.help");
+        dependency.setArtifactId("dependency");
+        dependency.setVersion("1.0");
+        // the input locations are not written
+        dependency.setLocation("version", new InputLocation(12, 5));
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        when(expressionEvaluator.evaluate("${project.groupId}")).thenReturn("org.apache.maven.its.help");
+        when(expressionEvaluator.evaluate("${project.description}"))
+                .thenReturn(new ArrayList<>(Collections.singletonList(dependency)));
+
+        // Quiet mode given on command line.(simulation)
+        interceptingLogger.setInfoEnabled(false);
+
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        PrintStream saveOut = System.out;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(baos));
+
+        try {
+            mojo.execute();
+        } finally {
+            System.setOut(saveOut);
+            baos.close();
+        }
+
+        String stdResult = baos.toString().replaceAll("\\s+", "");
+        assertEquals(
+                "{\"project.groupId\":\"org.apache.maven.its.help\",\"project.description\":"
+                        + "[{\"groupId\":\"org.apache.maven.its.help\",\"artifactId\":\"dependency\","
+                        + "\"version\":\"1.0\",\"type\":\"jar\"}]}",
+                stdResult);
+    }
+
+    /**
+     * Tests that expressions sent to the server are answered on a single line each, with the same evaluator.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateServer() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        when(expressionEvaluator.evaluate("${project.groupId}")).thenReturn("org.apache.maven.its.help");
+        when(expressionEvaluator.evaluate("${project.description}")).thenReturn("First line\nsecond line");
+        when(expressionEvaluator.evaluate("${invalid}")).thenReturn("${invalid}");
+
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int port = setUpServer(mojo, "server.token");
+        Thread server = startServer(mojo, failure);
+
+        Path tokenFile = new File(getBasedir(), "target/test-classes/unit/evaluate/server.token").toPath();
+        String token = readToken(tokenFile);
+        if (Files.getFileStore(tokenFile).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+        }
+
+        try (Socket socket = connect(port);
+                BufferedReader in =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write(token + "\n${project.groupId}\n${project.description}\n${invalid}\n0\n");
+            out.flush();
+
+            assertEquals("org.apache.maven.its.help", in.readLine());
+            assertEquals("First line\\nsecond line", in.readLine());
+            assertEquals("", in.readLine());
+            assertNull(in.readLine());
+        }
+
+        // a second client stops the server
+        stopServer(server, port, token);
+        assertNull(failure.get());
+        verify(expressionEvaluator, times(1)).evaluate("${project.groupId}");
+        assertEquals(1, interceptingLogger.warnLogs.size());
+        assertFalse("The token file should be deleted", Files.exists(tokenFile));
+    }
+
+    /**
+     * Tests that the server keeps answering after an expression whose value can not be serialized.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateServerUnserializableExpression() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        when(expressionEvaluator.evaluate("${unserializable}")).thenReturn(new Unserializable());
+        when(expressionEvaluator.evaluate("${project.groupId}")).thenReturn("org.apache.maven.its.help");
+
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int port = setUpServer(mojo, "unserializable.token");
+        Thread server = startServer(mojo, failure);
+
+        String token =
+                readToken(new File(getBasedir(), "target/test-classes/unit/evaluate/unserializable.token").toPath());
+
+        try (Socket socket = connect(port);
+                BufferedReader in =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write(token + "\n${unserializable}\n${project.groupId}\n0\n");
+            out.flush();
+
+            assertEquals("", in.readLine());
+            assertEquals("org.apache.maven.its.help", in.readLine());
+            assertNull(in.readLine());
+        }
+
+        stopServer(server, port, token);
+        assertNull(failure.get());
+        assertEquals(1, interceptingLogger.warnLogs.size());
+        assertTrue(interceptingLogger.warnLogs.get(0).startsWith("Cannot write evaluation of expression as XML"));
+    }
+
+    /**
+     * Tests that the server disconnects the clients which do not send its token, without evaluating anything.
+     *
+     * @throws Exception in case of errors.
+     */
+    public void testEvaluateServerInvalidToken() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/evaluate/plugin-config.xml");
+
+        EvaluateMojo mojo = (EvaluateMojo) lookupMojo("evaluate", testPom);
+
+        ExpressionEvaluator expressionEvaluator = mock(PluginParameterExpressionEvaluator.class);
+        setUpMojo(mojo, null, expressionEvaluator);
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int port = setUpServer(mojo, "invalid-token.token");
+        Thread server = startServer(mojo, failure);
+
+        String token =
+                readToken(new File(getBasedir(), "target/test-classes/unit/evaluate/invalid-token.token").toPath());
+
+        try (Socket socket = connect(port);
+                BufferedReader in =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write("invalid\n${settings.servers}\n");
+            out.flush();
+
+            assertNull(in.readLine());
+        }
+
+        stopServer(server, port, token);
+        assertNull(failure.get());
+        verify(expressionEvaluator, never()).evaluate(anyString());
+        assertEquals(1, interceptingLogger.warnLogs.size());
+        assertTrue(interceptingLogger.warnLogs.get(0).startsWith("Rejected a client"));
+    }
+
+    /**
+     * @param mojo the mojo to configure as a server.
+     * @param tokenFileName the name of the token file of the server.
+     * @return the free port the server will listen on.
+     * @throws Exception in case of errors.
+     */
+    private int setUpServer(EvaluateMojo mojo, String tokenFileName) throws Exception {
+        File tokenFile = new File(getBasedir(), "target/test-classes/unit/evaluate/" + tokenFileName);
+        Files.deleteIfExists(tokenFile.toPath());
+        setVariableValueToObject(mojo, "serverTokenFile", tokenFile);
+
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        setVariableValueToObject(mojo, "serverPort", port);
+        return port;
+    }
+
+    private static Thread startServer(EvaluateMojo mojo, AtomicReference<Exception> failure) {
+        Thread server = new Thread(() -> {
+            try {
+                mojo.execute();
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void stopServer(Thread server, int port, String token) throws Exception {
+        try (Socket socket = connect(port);
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write(token + "\nshutdown\n");
+            out.flush();
+        }
+
+        server.join(10_000);
+        assertFalse("The server should be stopped", server.isAlive());
+    }
+
+    private static String readToken(Path tokenFile) throws Exception {
+        // the token file is written by the server thread
+        for (int i = 0; !Files.exists(tokenFile); i++) {
+            if (i == 100) {
+                fail("The token file " + tokenFile + " was not written");
+            }
+            Thread.sleep(100);
+        }
+        return new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8);
+    }
+
+    private static Socket connect(int port) throws Exception {
+        // the server is started by another thread
+        for (int i = 0; ; i++) {
+            try {
+                return new Socket(InetAddress.getLoopbackAddress(), port);
+            } catch (ConnectException e) {
+                if (i == 100) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
     private void setUpMojo(EvaluateMojo mojo, InputHandler inputHandler, ExpressionEvaluator expressionEvaluator)
             throws IllegalAccessException {
         setVariableValueToObject(mojo, "inputHandler", inputHandler);
@@ -154,6 +497,15 @@ public class EvaluateMojoTest extends AbstractMojoTestCase {
         setVariableValueToObject(mojo, "evaluator", expressionEvaluator);
     }
 
+    /**
+     * A value which XStream fails to write, like the objects whose fields are not accessible.
+     */
+    private static final class Unserializable implements Serializable {
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            throw new IllegalStateException("Not serializable");
+        }
+    }
+
     private static final class InterceptingLog extends DefaultLog {
         private boolean isInfoEnabled;
 
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link JsonStreamWriter}.
+ */
+public class JsonStreamWriterTest {
+
+    @Test
+    public void testNested() throws Exception {
+        StringWriter out = new StringWriter();
+        new JsonStreamWriter(out)
+                .beginObject()
+                .name("goal")
+                .value("describe")
+                .member("phase", null)
+                .name("report")
+                .value(false)
+                .name("parameters")
+                .beginArray()
+                .beginObject()
+                .member("name", "detail")
+                .name("required")
+                .value(true)
+                .endObject()
+                .value(1L)
+                .value(null)
+                .endArray()
+                .name("empty")
+                .beginArray()
+                .endArray()
+                .endObject();
+
+        assertEquals(
+                "{\n"
+                        + "  \"goal\": \"describe\",\n"
+                        + "  \"report\": false,\n"
+                        + "  \"parameters\": [\n"
+                        + "    {\n"
+                        + "      \"name\": \"detail\",\n"
+                        + "      \"required\": true\n"
+                        + "    },\n"
+                        + "    1,\n"
+                        + "    null\n"
+                        + "  ],\n"
+                        + "  \"empty\": []\n"
+                        + "}",
+                out.toString());
+    }
+
+    @Test
+    public void testRawValue() throws Exception {
+        StringWriter out = new StringWriter();
+        JsonStreamWriter json =
+                new JsonStreamWriter(out).beginObject().name("module").beginObject();
+        json.name("project.version").rawValue().write("\"1.0\"");
+        json.name("project.developers").rawValue().write("[\n  {\n    \"id\": \"dev\"\n  }\n]");
+        json.endObject().endObject();
+
+        assertEquals(
+                "{\n"
+                        + "  \"module\": {\n"
+                        + "    \"project.version\": \"1.0\",\n"
+                        + "    \"project.developers\": [\n"
+                        + "      {\n"
+                        + "        \"id\": \"dev\"\n"
+                        + "      }\n"
+                        + "    ]\n"
+                        + "  }\n"
+                        + "}",
+                out.toString());
+    }
+
+    @Test
+    public void testEscape() throws Exception {
+        StringWriter out = new StringWriter();
+        new JsonStreamWriter(out).value("<p>\"a\\b\"</p>\n\tc\r\u0001");
+
+        assertEquals("\"<p>\\\"a\\\\b\\\"</p>\\n\\tc\\r\\u0001\"", out.toString());
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.help;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.codehaus.plexus.configuration.xml.XmlPlexusConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for {@link PluginDescriptorIndex}.
+ */
+public class PluginDescriptorIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PluginDescriptorIndex index;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new PluginDescriptorIndex(temporaryFolder.newFolder("index"), "1.0");
+        jar = temporaryFolder.newFile("test-plugin-1.0.jar");
+        Files.write(jar.toPath(), "jar".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadWritten() throws Exception {
+        Map<String, Boolean> reportGoals = new HashMap<>();
+        reportGoals.put("report", true);
+        index.write(newPluginDescriptor(), jar, reportGoals, new HashMap<>());
+
+        Map<String, Boolean> readReportGoals = new HashMap<>();
+        PluginDescriptor pd = index.read("org.test", "test-plugin", "1.0", jar, readReportGoals, new HashMap<>());
+
+        assertNotNull(pd);
+        assertEquals("org.test:test-plugin:1.0", pd.getId());
+        assertEquals("test", pd.getGoalPrefix());
+        assertEquals("Test Plugin", pd.getName());
+        assertEquals("  A <b>test</b> plugin.  ", pd.getDescription());
+        assertEquals(reportGoals, readReportGoals);
+
+        MojoDescriptor report = pd.getMojo("report");
+        assertEquals("test:report", report.getFullGoalName());
+        assertEquals("org.test.ReportMojo", report.getImplementation());
+        assertEquals("", report.getDeprecated());
+        assertEquals("site", report.getPhase());
+
+        MojoDescriptor run = pd.getMojo("run");
+        assertNull(run.getDeprecated());
+        assertNull(run.getParameters());
+
+        Parameter parameter = report.getParameters().get(0);
+        assertEquals("outputDirectory", parameter.getName());
+        assertEquals("output", parameter.getAlias());
+        assertTrue(parameter.isRequired());
+        assertTrue(parameter.isEditable());
+        assertEquals("${output}", parameter.getExpression());
+        assertEquals("${project.build.directory}", parameter.getDefaultValue());
+    }
+
+    @Test
+    public void testReadPlainTexts() throws Exception {
+        Map<String, String> plainTexts = new HashMap<>();
+        plainTexts.put("  A <b>test</b> plugin.  ", "A test plugin.");
+        index.write(newPluginDescriptor(), jar, new HashMap<>(), plainTexts);
+
+        Map<String, String> readPlainTexts = new HashMap<>();
+        assertNotNull(index.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), readPlainTexts));
+        assertEquals(plainTexts, readPlainTexts);
+    }
+
+    @Test
+    public void testReadPlainTextsOtherConverter() throws Exception {
+        Map<String, String> plainTexts = new HashMap<>();
+        plainTexts.put("  A <b>test</b> plugin.  ", "A test plugin.");
+        index.write(newPluginDescriptor(), jar, new HashMap<>(), plainTexts);
+
+        PluginDescriptorIndex other = new PluginDescriptorIndex(new File(temporaryFolder.getRoot(), "index"), "2.0");
+        Map<String, String> readPlainTexts = new HashMap<>();
+        PluginDescriptor pd = other.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), readPlainTexts);
+
+        assertNotNull(pd);
+        assertEquals("  A <b>test</b> plugin.  ", pd.getDescription());
+        assertTrue(readPlainTexts.isEmpty());
+    }
+
+    @Test
+    public void testPlainTextsUnknownConverter() throws Exception {
+        Map<String, String> plainTexts = new HashMap<>();
+        plainTexts.put("  A <b>test</b> plugin.  ", "A test plugin.");
+        index.write(newPluginDescriptor(), jar, new HashMap<>(), plainTexts);
+
+        // the plain texts of a known converter are not read by an unknown one
+        PluginDescriptorIndex unknown = new PluginDescriptorIndex(new File(temporaryFolder.getRoot(), "index"), null);
+        Map<String, String> readPlainTexts = new HashMap<>();
+        assertNotNull(unknown.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), readPlainTexts));
+        assertTrue(readPlainTexts.isEmpty());
+
+        // nor written by it
+        unknown.write(newPluginDescriptor(), jar, new HashMap<>(), plainTexts);
+        String entry = new String(
+                Files.readAllBytes(
+                        index.getFile("org.test", "test-plugin", "1.0").toPath()),
+                StandardCharsets.UTF_8);
+        assertFalse(entry, entry.contains("plainDescription"));
+        assertFalse(entry, entry.contains("converterVersion"));
+        assertNotNull(index.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), readPlainTexts));
+        assertTrue(readPlainTexts.isEmpty());
+    }
+
+    @Test
+    public void testReadNotIndexed() throws Exception {
+        assertNull(index.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), new HashMap<>()));
+    }
+
+    @Test
+    public void testReadChangedJar() throws Exception {
+        index.write(newPluginDescriptor(), jar, new HashMap<>(), new HashMap<>());
+
+        Files.write(jar.toPath(), "changed jar".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(index.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), new HashMap<>()));
+    }
+
+    @Test
+    public void testReadTouchedJar() throws Exception {
+        index.write(newPluginDescriptor(), jar, new HashMap<>(), new HashMap<>());
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 60000));
+
+        assertNull(index.read("org.test", "test-plugin", "1.0", jar, new HashMap<>(), new HashMap<>()));
+    }
+
+    private static PluginDescriptor newPluginDescriptor() throws Exception {
+        PluginDescriptor pd = new PluginDescriptor();
+        pd.setGroupId("org.test");
+        pd.setArtifactId("test-plugin");
+        pd.setVersion("1.0");
+        pd.setGoalPrefix("test");
+        pd.setName("Test Plugin");
+        pd.setDescription("  A <b>test</b> plugin.  ");
+
+        MojoDescriptor report = new MojoDescriptor();
+        report.setGoal("report");
+        report.setImplementation("org.test.ReportMojo");
+        report.setDeprecated("");
+        report.setPhase("site");
+        Parameter parameter = new Parameter();
+        parameter.setName("outputDirectory");
+        parameter.setAlias("output");
+        parameter.setRequired(true);
+        parameter.setEditable(true);
+        report.addParameter(parameter);
+        // the expression and the default value are only in the mojo configuration (cf. MNG-4941)
+        XmlPlexusConfiguration configuration = new XmlPlexusConfiguration("configuration");
+        XmlPlexusConfiguration outputDirectory = new XmlPlexusConfiguration("outputDirectory");
+        outputDirectory.setValue("${output}");
+        outputDirectory.setAttribute("default-value", "${project.build.directory}");
+        configuration.addChild(outputDirectory);
+        report.setMojoConfiguration(configuration);
+        report.setPluginDescriptor(pd);
+        pd.addMojo(report);
+
+        MojoDescriptor run = new MojoDescriptor();
+        run.setGoal("run");
+        run.setImplementation("org.test.RunMojo");
+        run.setPluginDescriptor(pd);
+        pd.addMojo(run);
+        return pd;
+    }
+}